@@ -0,0 +1,76 @@
+#!/bin/bash
+
+# Steel Backend Authorization Benchmark
+# Fires concurrent requests at a role-checked endpoint that does no database work and
+# reports throughput and heap allocated per request, read from the JVM's allocation
+# counter before and after the run. Run it against builds with and without the
+# precomputed role checks to compare.
+#
+# Usage: ./bench_authorization.sh [requests] [concurrency] [rounds]
+
+BASE_URL="http://localhost:8080"
+API_BASE="$BASE_URL/api"
+TARGET="$API_BASE/replenishment/latest"
+
+REQUESTS=${1:-20000}
+CONCURRENCY=${2:-32}
+ROUNDS=${3:-3}
+
+echo "📈 Authorization Benchmark"
+echo "=========================="
+echo "Endpoint: $TARGET, requests: $REQUESTS, concurrency: $CONCURRENCY, rounds: $ROUNDS"
+echo ""
+
+get_token() {
+    local response=$(curl -s -X POST "$API_BASE/auth/login" \
+        -H "Content-Type: application/json" \
+        -d '{"username":"manager","password":"manager123"}')
+    TOKEN=$(echo "$response" | grep -o '"token":"[^"]*"' | cut -d'"' -f4)
+    if [[ -z "$TOKEN" ]]; then
+        echo "❌ Failed to get token"
+        exit 1
+    fi
+}
+
+# Bytes allocated on the heap so far. Micrometer updates it at each young collection,
+# so runs should be long enough to span many collections.
+allocated_bytes() {
+    curl -s "$BASE_URL/actuator/metrics/jvm.gc.memory.allocated" -H "Authorization: Bearer $TOKEN" \
+        | grep -o '"value":[0-9.E+]*' | head -1 | cut -d: -f2 | awk '{printf "%.0f", $1}'
+}
+
+# Each worker reuses one connection for its share of the requests.
+worker() {
+    local count=$1 urls=()
+    for ((i = 0; i < count; i++)); do urls+=("$TARGET"); done
+    curl -s -o /dev/null -w "%{http_code}\n" -H "Authorization: Bearer $TOKEN" "${urls[@]}"
+}
+export -f worker
+export TARGET
+
+get_token
+export TOKEN
+
+per_worker=$((REQUESTS / CONCURRENCY))
+total=$((per_worker * CONCURRENCY))
+
+# Warm-up round so the JIT and connection pools are settled before measuring.
+seq "$CONCURRENCY" | xargs -P "$CONCURRENCY" -I{} bash -c "worker $per_worker" > /dev/null
+
+for round in $(seq "$ROUNDS"); do
+    before=$(allocated_bytes)
+    start=$(date +%s.%N)
+    results=$(seq "$CONCURRENCY" | xargs -P "$CONCURRENCY" -I{} bash -c "worker $per_worker")
+    end=$(date +%s.%N)
+    after=$(allocated_bytes)
+
+    ok=$(echo "$results" | grep -c -E '^(200|404)$')
+    denied=$(echo "$results" | grep -c '^403$')
+    elapsed=$(echo "$end - $start" | bc)
+    rate=$(echo "scale=1; $total / $elapsed" | bc)
+    per_request=$(echo "($after - $before) / $total" | bc)
+    echo "🔢 round=$round  authorized=$ok/$total  denied=$denied  elapsed=${elapsed}s  throughput=${rate} req/s  allocated=${per_request} B/req"
+done
+
+echo ""
+echo "✅ Benchmark completed!"
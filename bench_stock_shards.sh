@@ -0,0 +1,76 @@
+#!/bin/bash
+
+# Steel Backend Stock Shard Benchmark
+# Fires concurrent single-item orders at one product and reports throughput
+# for each shard count, so contention on the stock row can be compared.
+#
+# Usage: ./bench_stock_shards.sh [product_id] [client_id] [orders] [concurrency] [shard counts...]
+
+BASE_URL="http://localhost:8080"
+API_BASE="$BASE_URL/api"
+
+PRODUCT_ID=${1:-1}
+CLIENT_ID=${2:-1}
+ORDERS=${3:-2000}
+CONCURRENCY=${4:-32}
+shift 4 2>/dev/null
+SHARD_COUNTS=${@:-"1 2 4 8 16"}
+
+echo "📈 Stock Shard Benchmark"
+echo "========================"
+echo "Product: $PRODUCT_ID, client: $CLIENT_ID, orders: $ORDERS, concurrency: $CONCURRENCY"
+echo ""
+
+get_token() {
+    local response=$(curl -s -X POST "$API_BASE/auth/login" \
+        -H "Content-Type: application/json" \
+        -d '{"username":"admin","password":"admin123"}')
+    TOKEN=$(echo "$response" | grep -o '"token":"[^"]*"' | cut -d'"' -f4)
+    if [[ -z "$TOKEN" ]]; then
+        echo "❌ Failed to get token"
+        exit 1
+    fi
+}
+
+# Each worker reuses one connection for its share of the orders, so the run measures
+# the server rather than connection setup.
+worker() {
+    local count=$1 urls=()
+    ((count > 0)) || return 0
+    # -o only applies to the URL after it, so every URL gets its own.
+    for ((i = 0; i < count; i++)); do urls+=(-o /dev/null "$API_BASE/orders?clientId=$CLIENT_ID"); done
+    curl -s -w "%{http_code}\n" -X POST \
+        -H "Authorization: Bearer $TOKEN" \
+        -H "Content-Type: application/json" \
+        -d "[{\"productId\":$PRODUCT_ID,\"quantity\":1}]" \
+        "${urls[@]}"
+}
+export -f worker
+export API_BASE CLIENT_ID PRODUCT_ID
+
+get_token
+export TOKEN
+
+for shards in $SHARD_COUNTS; do
+    # Refill stock so every run starts from the same state, then split it.
+    curl -s -o /dev/null -X DELETE "$API_BASE/products/$PRODUCT_ID/stock-shards" -H "Authorization: Bearer $TOKEN"
+    curl -s -o /dev/null -X PUT "$API_BASE/products/$PRODUCT_ID/stock?quantity=$((ORDERS * 2))" \
+        -H "Authorization: Bearer $TOKEN"
+    curl -s -o /dev/null -X PUT "$API_BASE/products/$PRODUCT_ID/stock-shards?count=$shards" \
+        -H "Authorization: Bearer $TOKEN"
+
+    start=$(date +%s.%N)
+    # The first ORDERS % CONCURRENCY workers take one extra order.
+    results=$(seq 0 $((CONCURRENCY - 1)) \
+        | xargs -P "$CONCURRENCY" -I{} bash -c "worker \$(( $ORDERS / $CONCURRENCY + ({} < $ORDERS % $CONCURRENCY) ))")
+    end=$(date +%s.%N)
+
+    ok=$(echo "$results" | grep -c '^201$')
+    elapsed=$(echo "$end - $start" | bc)
+    rate=$(echo "scale=1; $ok / $elapsed" | bc)
+    echo "🔢 shards=$shards  created=$ok/$ORDERS  elapsed=${elapsed}s  throughput=${rate} orders/s"
+done
+
+curl -s -o /dev/null -X DELETE "$API_BASE/products/$PRODUCT_ID/stock-shards" -H "Authorization: Bearer $TOKEN"
+echo ""
+echo "✅ Benchmark completed!"
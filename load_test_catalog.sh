@@ -0,0 +1,67 @@
+#!/bin/bash
+
+# Steel Backend Catalog Load Test
+# Opens N slow clients (each reading at a throttled rate) against the servlet product
+# list and against the reactive catalog, and while they are connected measures how long
+# a single quick request takes on the same stack. The level where the probe starts
+# timing out is that stack's concurrency ceiling.
+#
+# Usage: ./load_test_catalog.sh [concurrency levels...]
+# Env:   RATE (per-client read rate, default 20k), PROBE_TIMEOUT (seconds, default 10)
+
+BASE_URL="http://localhost:8080"
+REACTIVE_URL="http://localhost:8081"
+API_BASE="$BASE_URL/api"
+
+LEVELS=${@:-"50 100 200 400 800"}
+RATE=${RATE:-20k}
+PROBE_TIMEOUT=${PROBE_TIMEOUT:-10}
+
+echo "📈 Catalog Concurrency Load Test"
+echo "================================"
+echo "Levels: $LEVELS, slow client rate: $RATE/s, probe timeout: ${PROBE_TIMEOUT}s"
+echo ""
+
+get_token() {
+    local response=$(curl -s -X POST "$API_BASE/auth/login" \
+        -H "Content-Type: application/json" \
+        -d '{"username":"admin","password":"admin123"}')
+    TOKEN=$(echo "$response" | grep -o '"token":"[^"]*"' | cut -d'"' -f4)
+    if [[ -z "$TOKEN" ]]; then
+        echo "❌ Failed to get token"
+        exit 1
+    fi
+}
+
+slow_client() {
+    curl -s -o /dev/null -w "%{http_code}\n" --limit-rate "$RATE" --max-time 120 \
+        -H "Authorization: Bearer $TOKEN" -H "Accept: $2" "$1"
+}
+export -f slow_client
+
+run_level() {
+    local name=$1 list_url=$2 probe_url=$3 accept=$4 level=$5
+    local results=$(mktemp)
+    seq "$level" | xargs -P "$level" -I{} bash -c "slow_client '$list_url' '$accept'" > "$results" &
+    local clients=$!
+    sleep 3
+
+    local probe=$(curl -s -o /dev/null -w "%{http_code} %{time_total}" --max-time "$PROBE_TIMEOUT" \
+        -H "Authorization: Bearer $TOKEN" "$probe_url")
+    wait "$clients"
+    local ok=$(grep -c '^200$' "$results")
+    rm -f "$results"
+    echo "🔢 $name  clients=$level  completed=$ok/$level  probe=${probe:-timeout}"
+}
+
+get_token
+export TOKEN RATE
+
+for level in $LEVELS; do
+    run_level "servlet " "$API_BASE/products" "$API_BASE/products/1" "application/json" "$level"
+    run_level "reactive" "$REACTIVE_URL/api/catalog/products?limit=100000" \
+        "$REACTIVE_URL/api/catalog/products/1" "application/x-ndjson" "$level"
+    echo ""
+done
+
+echo "✅ Load test completed!"
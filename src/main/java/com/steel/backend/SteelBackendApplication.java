@@ -2,8 +2,10 @@ package com.steel.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SteelBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(SteelBackendApplication.class, args);
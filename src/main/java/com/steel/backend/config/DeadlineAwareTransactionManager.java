@@ -0,0 +1,31 @@
+package com.steel.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Caps every transaction's timeout at the time left on the current request's deadline.
+ * Hibernate applies the remaining transaction time as the JDBC query timeout of each
+ * statement, so a slow database fails the request instead of holding its thread.
+ */
+public class DeadlineAwareTransactionManager extends JpaTransactionManager {
+
+    public DeadlineAwareTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining == Long.MAX_VALUE) {
+            return timeout;
+        }
+        if (remaining <= 0) {
+            throw new RequestDeadline.ExceededException();
+        }
+        int remainingSeconds = (int) Math.max(1, (remaining + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
@@ -0,0 +1,107 @@
+package com.steel.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gives every handled request a SQL statement budget and records how many statements it
+ * actually ran ({@code http.server.requests.statements}, tagged by route). Routes over
+ * budget are logged with the statements they ran; with
+ * {@code app.query-budget.fail-on-exceed} the offending statement fails instead, which is
+ * meant for integration and load-test environments so N+1 regressions surface as errors.
+ *
+ * <p>Budgets come from {@code app.query-budget.routes}, a comma-separated list of
+ * {@code METHOD /pattern=N} entries; other routes get {@code app.query-budget.default}
+ * (0 disables the check). The finished {@link StatementCounter.Scope} is left on the
+ * request under {@link #SCOPE_ATTRIBUTE} so tests can assert on it.
+ */
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+    public static final String SCOPE_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".scope";
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> budgets;
+    private final int defaultBudget;
+    private final boolean failOnExceed;
+
+    public QueryBudgetInterceptor(StatementCounter statementCounter,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.query-budget.routes:}") String routes,
+                                  @Value("${app.query-budget.default:0}") int defaultBudget,
+                                  @Value("${app.query-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.budgets = parse(routes);
+        this.defaultBudget = defaultBudget;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            String route = route(request);
+            statementCounter.begin(route, budgets.getOrDefault(route, defaultBudget), failOnExceed);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async part runs elsewhere; only the synchronous part is counted.
+        finish(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request);
+    }
+
+    private void finish(HttpServletRequest request) {
+        StatementCounter.Scope scope = statementCounter.end();
+        if (scope == null) return;
+        request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        DistributionSummary.builder("http.server.requests.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", scope.route().substring(scope.route().indexOf(' ') + 1))
+                .register(meterRegistry)
+                .record(scope.count());
+        if (scope.exceeded()) {
+            meterRegistry.counter("query.budget.exceeded", "route", scope.route()).increment();
+            log.warn("{} ran {} SQL statements (budget {}): {}", scope.route(), scope.count(), scope.budget(),
+                    scope.statements());
+        }
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static Map<String, Integer> parse(String routes) {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (String entry : routes.split(",")) {
+            if (entry.isBlank()) continue;
+            int eq = entry.lastIndexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Query budget entry must look like 'GET /api/x=3': " + entry);
+            }
+            budgets.put(entry.substring(0, eq).trim().replaceAll("\\s+", " "),
+                    Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+        return budgets;
+    }
+}
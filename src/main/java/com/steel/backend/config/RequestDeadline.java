@@ -0,0 +1,45 @@
+package com.steel.backend.config;
+
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * The deadline of the request being handled on the current thread, set by
+ * {@link RequestDeadlineFilter}. Threads that are not serving a request have none.
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    static void set(long budgetMillis) {
+        DEADLINE_NANOS.set(System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    /**
+     * Milliseconds left before the deadline (negative once it has passed), or
+     * {@link Long#MAX_VALUE} when no deadline applies.
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Long.MAX_VALUE : (deadline - System.nanoTime()) / 1_000_000L;
+    }
+
+    /**
+     * A {@link TransactionTimedOutException} so that, thrown while a transaction begins,
+     * it is rethrown as-is instead of wrapped in {@code CannotCreateTransactionException}.
+     */
+    public static class ExceededException extends TransactionTimedOutException {
+        public ExceededException() {
+            super("Request deadline exceeded");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.steel.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives each request a deadline and sheds load when the connection pool backs up.
+ *
+ * <p>The budget is the first matching {@code app.deadlines.routes} entry
+ * ({@code METHOD /ant/pattern=duration}) or {@code app.deadlines.default}, shortened by an
+ * {@code X-Request-Timeout-Ms} header from an upstream caller. Transactions started while
+ * handling the request time out at the deadline (see {@link DeadlineAwareTransactionManager}).
+ *
+ * <p>While more than {@code app.load-shedding.max-pending-connections} threads are waiting
+ * for a Hikari connection, GETs under {@code /api/} (except {@code app.load-shedding.exempt})
+ * are rejected with 503 before they queue, leaving the pool to writes such as order creation.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final List<RouteBudget> routes;
+    private final long defaultBudgetMillis;
+    private final int maxPendingConnections;
+    private final List<String> exempt;
+    private final Counter deadlinesExceeded;
+    private volatile HikariPoolMXBean pool;
+
+    public RequestDeadlineFilter(DataSource dataSource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.deadlines.routes:}") String routes,
+                                 @Value("${app.deadlines.default:PT10S}") Duration defaultBudget,
+                                 @Value("${app.load-shedding.max-pending-connections:20}") int maxPendingConnections,
+                                 @Value("${app.load-shedding.exempt:}") List<String> exempt) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.routes = parse(routes);
+        this.defaultBudgetMillis = defaultBudget.toMillis();
+        this.maxPendingConnections = maxPendingConnections;
+        this.exempt = exempt;
+        this.deadlinesExceeded = meterRegistry.counter("http.server.requests.deadline.exceeded");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        if ("GET".equals(request.getMethod()) && overloaded() && exempt.stream().noneMatch(p -> matcher.match(p, path))) {
+            meterRegistry.counter("http.server.requests.shed", "method", request.getMethod()).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server busy, retry shortly\"}");
+            return;
+        }
+
+        long budget = budgetFor(request.getMethod(), path);
+        String requested = request.getHeader(TIMEOUT_HEADER);
+        if (requested != null) {
+            try {
+                budget = Math.min(budget, Math.max(1, Long.parseLong(requested.trim())));
+            } catch (NumberFormatException ignored) {
+                // Malformed upstream budgets fall back to the route budget.
+            }
+        }
+        RequestDeadline.set(budget);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (RequestDeadline.remainingMillis() < 0) {
+                deadlinesExceeded.increment();
+            }
+            RequestDeadline.clear();
+        }
+    }
+
+    private boolean overloaded() {
+        HikariPoolMXBean current = pool;
+        if (current == null) {
+            try {
+                current = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            } catch (SQLException ex) {
+                return false;
+            }
+            if (current == null) return false;
+            pool = current;
+        }
+        return current.getThreadsAwaitingConnection() > maxPendingConnections;
+    }
+
+    private long budgetFor(String method, String path) {
+        for (RouteBudget route : routes) {
+            if (route.method.equals(method) && matcher.match(route.pattern, path)) {
+                return route.budgetMillis;
+            }
+        }
+        return defaultBudgetMillis;
+    }
+
+    private static List<RouteBudget> parse(String routes) {
+        List<RouteBudget> parsed = new ArrayList<>();
+        for (String entry : routes.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] methodAndRest = entry.trim().split("\\s+", 2);
+            int eq = methodAndRest.length == 2 ? methodAndRest[1].lastIndexOf('=') : -1;
+            if (eq < 0) {
+                throw new IllegalArgumentException("Deadline entry must look like 'GET /api/x/**=PT2S': " + entry);
+            }
+            parsed.add(new RouteBudget(methodAndRest[0], methodAndRest[1].substring(0, eq).trim(),
+                    Duration.parse(methodAndRest[1].substring(eq + 1).trim()).toMillis()));
+        }
+        return parsed;
+    }
+
+    private record RouteBudget(String method, String pattern, long budgetMillis) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.steel.backend.config;
+
+import com.steel.backend.model.Client;
+import com.steel.backend.model.Product;
+import com.steel.backend.model.User;
+import com.steel.backend.repository.ClientRepository;
+import com.steel.backend.repository.OrderRepository;
+import com.steel.backend.repository.ProductDemandStatsRepository;
+import com.steel.backend.repository.ProductRepository;
+import com.steel.backend.repository.UserRepository;
+import com.steel.backend.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Warms a freshly started node before the load balancer sends it traffic. Once the
+ * application is ready, parallel tasks open pool connections, load user accounts and
+ * replay the busiest product, recent client, supplier and order-quote reads
+ * through the node's own HTTP port, so Hibernate, Jackson, the security chain and the
+ * pricing code are compiled and the rows are in the database's buffer cache. The node
+ * reports OUT_OF_SERVICE on the readiness group until warm-up finishes or its budget runs
+ * out, whichever comes first.
+ */
+@Component
+public class StartupWarmup implements HealthIndicator {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final DataSource dataSource;
+    private final ProductDemandStatsRepository productDemandStatsRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final ClientRepository clientRepository;
+    private final UserRepository userRepository;
+    private final UserDetailsService userDetailsService;
+    private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+    private volatile State state = State.PENDING;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.budget:PT60S}")
+    private Duration budget;
+
+    @Value("${app.warmup.threads:4}")
+    private int threads;
+
+    @Value("${app.warmup.connections:10}")
+    private int connections;
+
+    @Value("${app.warmup.products:200}")
+    private int products;
+
+    @Value("${app.warmup.clients:200}")
+    private int clients;
+
+    @Value("${app.warmup.users:100}")
+    private int users;
+
+    @Value("${app.warmup.pricing-calls:2000}")
+    private int pricingCalls;
+
+    private enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, DISABLED }
+
+    public StartupWarmup(DataSource dataSource,
+                         ProductDemandStatsRepository productDemandStatsRepository,
+                         ProductRepository productRepository,
+                         OrderRepository orderRepository,
+                         ClientRepository clientRepository,
+                         UserRepository userRepository,
+                         UserDetailsService userDetailsService,
+                         JwtService jwtService,
+                         MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.productDemandStatsRepository = productDemandStatsRepository;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.clientRepository = clientRepository;
+        this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
+        this.jwtService = jwtService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Health health() {
+        return switch (state) {
+            case PENDING, RUNNING -> Health.outOfService().withDetail("warmup", state).build();
+            default -> Health.up().withDetail("warmup", state).build();
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext web)) {
+            state = State.DISABLED;
+            return;
+        }
+        URI base = URI.create("http://127.0.0.1:" + web.getWebServer().getPort());
+        Thread coordinator = new Thread(() -> run(base), "startup-warmup");
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    private void run(URI base) {
+        state = State.RUNNING;
+        long started = System.nanoTime();
+        long deadline = started + budget.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "startup-warmup-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<Void>> tasks = tasks(base, deadline);
+            List<Future<Void>> results = pool.invokeAll(tasks, Math.max(0, deadline - System.nanoTime()),
+                    TimeUnit.NANOSECONDS);
+            boolean timedOut = false;
+            for (Future<Void> result : results) {
+                if (result.isCancelled()) {
+                    timedOut = true;
+                    continue;
+                }
+                try {
+                    result.get();
+                } catch (ExecutionException ex) {
+                    log.warn("Warm-up task failed", ex.getCause());
+                }
+            }
+            state = timedOut ? State.TIMED_OUT : State.COMPLETED;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            state = State.TIMED_OUT;
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up aborted", ex);
+            state = State.FAILED;
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - started;
+        meterRegistry.timer("startup.warmup", "result", state.name().toLowerCase(Locale.ROOT))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Startup warm-up {} in {} ms, accepting traffic", state, elapsed / 1_000_000);
+    }
+
+    private List<Callable<Void>> tasks(URI base, long deadline) {
+        List<Long> productIds = productDemandStatsRepository.findBusiestProductIds(PageRequest.of(0, products));
+        if (productIds.isEmpty()) {
+            productIds = productRepository.findAll(PageRequest.of(0, products, Sort.by("id"))).map(Product::getId).toList();
+        }
+        List<Long> clientIds = orderRepository.findRecentClientIds(PageRequest.of(0, clients));
+        if (clientIds.isEmpty()) {
+            clientIds = clientRepository.findAll(PageRequest.of(0, clients, Sort.by("id"))).map(Client::getId).toList();
+        }
+        List<String> usernames = userRepository.findAll(PageRequest.of(0, users, Sort.by("id")))
+                .map(User::getUsername).toList();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        tasks.add(this::openConnections);
+        tasks.add(() -> {
+            usernames.forEach(userDetailsService::loadUserByUsername);
+            return null;
+        });
+        if (usernames.isEmpty()) return tasks;
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        String token = "Bearer " + jwtService.generateToken(usernames.get(0), Map.of());
+        List<Long> hotProducts = productIds;
+        List<Long> hotClients = clientIds;
+        for (int worker = 0; worker < threads; worker++) {
+            int offset = worker;
+            tasks.add(() -> {
+                for (int i = offset; i < hotProducts.size(); i += threads) {
+                    get(http, base.resolve("/api/products/" + hotProducts.get(i)), token, deadline);
+                }
+                for (int i = offset; i < hotClients.size(); i += threads) {
+                    get(http, base.resolve("/api/clients/" + hotClients.get(i)), token, deadline);
+                }
+                get(http, base.resolve("/api/suppliers"), token, deadline);
+                if (hotProducts.isEmpty() || hotClients.isEmpty()) return null;
+                for (int i = offset; i < pricingCalls; i += threads) {
+                    quote(http, base, token, hotClients.get(i % hotClients.size()), hotProducts, i, deadline);
+                }
+                return null;
+            });
+        }
+        return tasks;
+    }
+
+    private Void openConnections() throws SQLException {
+        // Hold every connection at once so the pool has to open that many.
+        List<Connection> held = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        return null;
+    }
+
+    private void quote(HttpClient http, URI base, String token, Long clientId, List<Long> productIds, int call,
+                       long deadline) throws Exception {
+        int lines = 1 + call % 5;
+        String body = IntStream.range(0, lines).mapToObj(line -> "{\"productId\":"
+                        + productIds.get((call + line * 31) % productIds.size()) + ",\"quantity\":" + (1 + line) + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        send(http, HttpRequest.newBuilder(base.resolve("/api/orders/quote?clientId=" + clientId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), token, deadline);
+    }
+
+    private void get(HttpClient http, URI uri, String token, long deadline) throws Exception {
+        send(http, HttpRequest.newBuilder(uri).GET(), token, deadline);
+    }
+
+    private void send(HttpClient http, HttpRequest.Builder request, String token, long deadline) throws Exception {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) throw new TimeoutException("Warm-up budget exhausted");
+        http.send(request.header("Authorization", token).timeout(Duration.ofNanos(remaining)).build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,76 @@
+package com.steel.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #begin} and {@link #end}. Registered as the session factory's statement
+ * inspector; outside a scope it only passes statements through.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+    private static final int KEPT_STATEMENTS = 25;
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    public void begin(String route, int budget, boolean failOnExceed) {
+        current.set(new Scope(route, budget, failOnExceed));
+    }
+
+    public Scope end() {
+        Scope scope = current.get();
+        current.remove();
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.count++;
+            if (scope.statements.size() < KEPT_STATEMENTS) {
+                scope.statements.add(sql);
+            }
+            if (scope.failOnExceed && scope.budget > 0 && scope.count > scope.budget) {
+                // Stop counting so the error path (and its own queries) is not reported twice.
+                current.remove();
+                throw new QueryBudgetExceededException(scope);
+            }
+        }
+        return sql;
+    }
+
+    public static final class Scope {
+        private final String route;
+        private final int budget;
+        private final boolean failOnExceed;
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+
+        Scope(String route, int budget, boolean failOnExceed) {
+            this.route = route;
+            this.budget = budget;
+            this.failOnExceed = failOnExceed;
+        }
+
+        public String route() { return route; }
+        public int budget() { return budget; }
+        public int count() { return count; }
+        public List<String> statements() { return statements; }
+
+        public boolean exceeded() {
+            return budget > 0 && count > budget;
+        }
+    }
+
+    public static class QueryBudgetExceededException extends RuntimeException {
+        public QueryBudgetExceededException(Scope scope) {
+            super(scope.route() + " exceeded its budget of " + scope.budget() + " SQL statements: "
+                    + scope.statements());
+        }
+    }
+}
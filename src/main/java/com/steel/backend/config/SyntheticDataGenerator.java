@@ -0,0 +1,319 @@
+package com.steel.backend.config;
+
+import com.steel.backend.model.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a synthetic dataset for benchmark and load-test environments. Enabled with
+ * the {@code generate} profile, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=generate -Dspring-boot.run.arguments=--app.generator.orders=5000000}.
+ *
+ * <p>Rows are written with JDBC batch inserts, one transaction per chunk, by a pool of
+ * workers. Ids are reserved from each table's identity sequence up front so order items
+ * can reference their orders without reading anything back. Product popularity and
+ * client activity follow Zipf distributions; countries are weighted.
+ */
+@Configuration
+@Profile("generate")
+public class SyntheticDataGenerator {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] CATEGORIES = {"Plates", "Bowls", "Spoons", "Forks", "Knives", "Cutlery",
+            "Glasses", "Trays", "Pots", "Pans", "Lunch Boxes", "Tumblers"};
+    private static final String[] FINISHES = {"Mirror", "Matte", "Hammered", "Brushed", "Satin", "Gold-plated"};
+    private static final String[] BUSINESS_TYPES = {"Importer", "Distributor", "Retailer", "Wholesaler",
+            "Hotel", "Restaurant", "Caterer"};
+    private static final String[] COUNTRIES = {"India", "United States", "Germany", "United Kingdom",
+            "United Arab Emirates", "Saudi Arabia", "France", "Italy", "Netherlands", "Canada", "Australia",
+            "Japan", "Singapore", "South Africa", "Brazil", "Mexico", "Spain", "Kenya", "Nigeria", "Sri Lanka",
+            "Bangladesh", "Nepal", "Oman", "Qatar", "Poland", "Sweden", "Turkey", "Egypt", "Vietnam", "Chile"};
+    // Roughly Zipf-like: a few export markets dominate, with a long tail.
+    private static final double[] COUNTRY_CDF = cumulative(zipfWeights(COUNTRIES.length, 0.9));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.generator.suppliers:200}")
+    private int suppliers;
+
+    @Value("${app.generator.products:100000}")
+    private int products;
+
+    @Value("${app.generator.clients:200000}")
+    private int clients;
+
+    @Value("${app.generator.orders:1000000}")
+    private int orders;
+
+    @Value("${app.generator.max-items-per-order:8}")
+    private int maxItemsPerOrder;
+
+    @Value("${app.generator.product-skew:1.1}")
+    private double productSkew;
+
+    @Value("${app.generator.client-skew:0.8}")
+    private double clientSkew;
+
+    @Value("${app.generator.history:P730D}")
+    private Duration history;
+
+    @Value("${app.generator.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.generator.threads:0}")
+    private int threads;
+
+    @Value("${app.generator.seed:42}")
+    private long seed;
+
+    @Value("${app.generator.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Bean
+    CommandLineRunner generateData(ConfigurableApplicationContext context) {
+        return args -> {
+            int workers = threads > 0 ? threads : Math.min(8, Runtime.getRuntime().availableProcessors());
+            ExecutorService pool = Executors.newFixedThreadPool(workers);
+            long started = System.nanoTime();
+            try {
+                long[] supplierIds = generateSuppliers();
+                Catalog catalog = generateProducts(pool, supplierIds);
+                long[] clientIds = generateClients(pool);
+                generateOrders(pool, catalog, clientIds);
+            } finally {
+                pool.shutdown();
+            }
+            log.info("Synthetic dataset generated in {} s", Duration.ofNanos(System.nanoTime() - started).toSeconds());
+            if (exitWhenDone) {
+                System.exit(SpringApplication.exit(context, () -> 0));
+            }
+        };
+    }
+
+    private long[] generateSuppliers() {
+        long[] ids = reserveIds("suppliers", suppliers);
+        Random random = new Random(seed);
+        List<Object[]> rows = new ArrayList<>(suppliers);
+        List<Object[]> supplied = new ArrayList<>();
+        for (int i = 0; i < suppliers; i++) {
+            rows.add(new Object[]{ids[i], "Supplier " + (i + 1), "sales" + (i + 1) + "@supplier.example"});
+            Set<String> categories = new HashSet<>();
+            int count = 1 + random.nextInt(4);
+            while (categories.size() < count) {
+                categories.add(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            }
+            for (String category : categories) {
+                supplied.add(new Object[]{ids[i], category});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("insert into suppliers (id, name, contact_info) values (?, ?, ?)", rows);
+            jdbcTemplate.batchUpdate("insert into supplier_products (supplier_id, product_name) values (?, ?)", supplied);
+        });
+        log.info("Generated {} suppliers", suppliers);
+        return ids;
+    }
+
+    private Catalog generateProducts(ExecutorService pool, long[] supplierIds) throws Exception {
+        long[] ids = new long[products];
+        long[] priceCents = new long[products];
+        runChunked(pool, "products", products, (from, to, random) -> {
+            long[] chunkIds = reserveIds("products", to - from);
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                long cents = 50 + (long) (Math.exp(random.nextGaussian() * 0.9 + 6.0));
+                ids[i] = chunkIds[i - from];
+                priceCents[i] = cents;
+                rows.add(new Object[]{ids[i], FINISHES[random.nextInt(FINISHES.length)] + " " + category + " #" + (i + 1),
+                        category, "Synthetic " + category.toLowerCase() + " item", BigDecimal.valueOf(cents, 2),
+                        random.nextInt(5000), supplierIds[random.nextInt(supplierIds.length)]});
+            }
+            jdbcTemplate.batchUpdate("insert into products (id, name, category, description, price, " +
+                    "quantity_in_stock, supplier_id) values (?, ?, ?, ?, ?, ?, ?)", rows);
+        });
+        // Shuffle popularity ranks so the best sellers are spread across the id range.
+        int[] byRank = new int[products];
+        Arrays.setAll(byRank, i -> i);
+        Random random = new Random(seed);
+        for (int i = products - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = byRank[i];
+            byRank[i] = byRank[j];
+            byRank[j] = swap;
+        }
+        return new Catalog(ids, priceCents, byRank, new ZipfSampler(products, productSkew));
+    }
+
+    private long[] generateClients(ExecutorService pool) throws Exception {
+        long[] ids = new long[clients];
+        runChunked(pool, "clients", clients, (from, to, random) -> {
+            long[] chunkIds = reserveIds("clients", to - from);
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ids[i] = chunkIds[i - from];
+                String country = COUNTRIES[sample(COUNTRY_CDF, random.nextDouble())];
+                rows.add(new Object[]{ids[i], "Client " + (i + 1), "buyer" + (i + 1) + "@client.example", country,
+                        BUSINESS_TYPES[random.nextInt(BUSINESS_TYPES.length)]});
+            }
+            jdbcTemplate.batchUpdate("insert into clients (id, name, contact_info, country, business_type) " +
+                    "values (?, ?, ?, ?, ?)", rows);
+        });
+        return ids;
+    }
+
+    private void generateOrders(ExecutorService pool, Catalog catalog, long[] clientIds) throws Exception {
+        ZipfSampler clientSampler = new ZipfSampler(clientIds.length, clientSkew);
+        long now = System.currentTimeMillis();
+        long historyMillis = history.toMillis();
+        AtomicLong itemCount = new AtomicLong();
+        runChunked(pool, "orders", orders, (from, to, random) -> {
+            long[] orderIds = reserveIds("orders", to - from);
+            List<Object[]> orderRows = new ArrayList<>(to - from);
+            List<Object[]> itemRows = new ArrayList<>((to - from) * (maxItemsPerOrder + 1) / 2);
+            for (int i = 0; i < orderIds.length; i++) {
+                long createdAt = now - (long) (historyMillis * Math.pow(random.nextDouble(), 2));
+                long ageDays = (now - createdAt) / 86_400_000L;
+                OrderStatus status = ageDays > 14 ? OrderStatus.DELIVERED
+                        : ageDays > 3 ? (random.nextInt(4) == 0 ? OrderStatus.SHIPPED : OrderStatus.DELIVERED)
+                        : random.nextInt(3) == 0 ? OrderStatus.PENDING : OrderStatus.SHIPPED;
+                long updatedAt = status == OrderStatus.PENDING
+                        ? createdAt
+                        : Math.min(now, createdAt + random.nextInt(5 * 86_400_000));
+
+                int lines = 1 + random.nextInt(maxItemsPerOrder);
+                long totalCents = 0;
+                for (int line = 0; line < lines; line++) {
+                    int product = catalog.byRank[catalog.popularity.sample(random)];
+                    int quantity = 1 + (int) Math.min(499, Math.exp(random.nextGaussian() + 2.5));
+                    long lineCents = catalog.priceCents[product] * quantity;
+                    totalCents += lineCents;
+                    itemRows.add(new Object[]{orderIds[i], catalog.ids[product], quantity,
+                            BigDecimal.valueOf(lineCents, 2)});
+                }
+                orderRows.add(new Object[]{orderIds[i], clientIds[clientSampler.sample(random)],
+                        BigDecimal.valueOf(totalCents, 2), status.name(),
+                        new Timestamp(createdAt), new Timestamp(updatedAt)});
+            }
+            jdbcTemplate.batchUpdate("insert into orders (id, client_id, total_price, status, created_at, updated_at) " +
+                    "values (?, ?, ?, ?, ?, ?)", orderRows);
+            jdbcTemplate.batchUpdate("insert into order_items (order_id, product_id, quantity, price) " +
+                    "values (?, ?, ?, ?)", itemRows);
+            itemCount.addAndGet(itemRows.size());
+        });
+        log.info("Generated {} order items", itemCount.get());
+    }
+
+    /**
+     * Splits {@code [0, total)} into chunks of {@code app.generator.batch-size} rows and
+     * runs each chunk in its own transaction on the pool. Every chunk gets its own
+     * seeded {@link Random}, so a run is reproducible regardless of scheduling.
+     */
+    private void runChunked(ExecutorService pool, String table, int total, ChunkWriter writer) throws Exception {
+        long started = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < total; from += batchSize) {
+            int start = from;
+            int end = Math.min(from + batchSize, total);
+            Random random = new Random(seed * 31 + table.hashCode() * 17L + start);
+            futures.add(pool.submit(() -> {
+                transactionTemplate.executeWithoutResult(status -> writer.write(start, end, random));
+                long done = written.addAndGet(end - start);
+                if (done / batchSize % 100 == 0 || done == total) {
+                    log.info("{}: {}/{} rows", table, done, total);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException ex) {
+                futures.forEach(f -> f.cancel(true));
+                throw (Exception) ex.getCause();
+            }
+        }
+        double seconds = Math.max(1, System.nanoTime() - started) / 1e9;
+        log.info("Generated {} {} in {} s ({} rows/s)", total, table, String.format("%.1f", seconds),
+                (long) (total / seconds));
+    }
+
+    private long[] reserveIds(String table, int count) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select nextval(pg_get_serial_sequence(?, 'id')) from generate_series(1, ?)", Long.class, table, count);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static double[] zipfWeights(int n, double exponent) {
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1 / Math.pow(i + 1, exponent);
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        return Math.min(cdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(int from, int to, Random random);
+    }
+
+    private record Catalog(long[] ids, long[] priceCents, int[] byRank, ZipfSampler popularity) {
+    }
+
+    /**
+     * Samples ranks {@code 0..n-1} with probability proportional to {@code 1/(rank+1)^s}
+     * by binary search over a precomputed CDF.
+     */
+    private static final class ZipfSampler {
+        private final double[] cdf;
+
+        ZipfSampler(int n, double exponent) {
+            this.cdf = cumulative(zipfWeights(n, exponent));
+        }
+
+        int sample(Random random) {
+            return SyntheticDataGenerator.sample(cdf, random.nextDouble());
+        }
+    }
+}
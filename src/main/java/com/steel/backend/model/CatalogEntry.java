@@ -0,0 +1,82 @@
+package com.steel.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Flat, join-free copy of a product with its supplier name and stock status, maintained
+ * by {@code CatalogReadModel} for catalog list and search screens.
+ */
+@Entity
+@Table(name = "catalog_entries", indexes = {
+        @Index(name = "idx_catalog_entries_category", columnList = "category, product_id"),
+        @Index(name = "idx_catalog_entries_stock_status", columnList = "stock_status, product_id"),
+        @Index(name = "idx_catalog_entries_supplier", columnList = "supplier_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogEntry implements Persistable<Long> {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String category;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private Integer quantityInStock;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stock_status", nullable = false)
+    private StockStatus stockStatus;
+
+    @Column(name = "supplier_id")
+    private Long supplierId;
+
+    private String supplierName;
+
+    @Column(nullable = false)
+    private Instant refreshedAt;
+
+    // Ids are product ids, so Spring Data cannot tell new entries apart; without this every
+    // insert would be preceded by a SELECT.
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted = false;
+
+    @Override
+    @JsonIgnore
+    public Long getId() {
+        return productId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
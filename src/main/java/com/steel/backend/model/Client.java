@@ -1,10 +1,15 @@
 package com.steel.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "clients")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "clients", indexes = {
+        @Index(name = "idx_clients_country_name", columnList = "country, name"),
+        @Index(name = "idx_clients_business_type_name", columnList = "business_type, name")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,29 @@
+package com.steel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "ledger_checkpoints", indexes = @Index(name = "idx_ledger_checkpoints_journal", columnList = "journal_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Journal the sequence belongs to; null on checkpoints taken before journals had ids.
+    @Column(name = "journal_id", length = 36)
+    private String journalId;
+
+    @Column(nullable = false)
+    private Long sequence;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
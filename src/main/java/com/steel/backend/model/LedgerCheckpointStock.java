@@ -0,0 +1,35 @@
+package com.steel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "ledger_checkpoint_stock")
+@IdClass(LedgerCheckpointStock.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerCheckpointStock {
+    @Id
+    @Column(name = "checkpoint_id")
+    private Long checkpointId;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long checkpointId;
+        private Long productId;
+    }
+}
@@ -3,12 +3,9 @@ package com.steel.backend.model;
 public enum OrderStatus {
     PENDING,
     SHIPPED,
-    DELIVERED
-}
-
-
-
-
-
-
+    DELIVERED;
 
+    public boolean canTransitionTo(OrderStatus next) {
+        return next != null && next.ordinal() == ordinal() + 1;
+    }
+}
@@ -1,11 +1,14 @@
 package com.steel.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "products")
 @Getter
 @Setter
@@ -31,6 +34,11 @@ public class Product {
     @Column(nullable = false)
     private Integer quantityInStock;
 
+    // Number of stock shards, null when unsharded; only StockShardService writes it.
+    @Column(name = "stock_shards", insertable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer stockShards;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id")
     private Supplier supplier;
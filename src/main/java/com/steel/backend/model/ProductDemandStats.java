@@ -0,0 +1,27 @@
+package com.steel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "product_demand_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductDemandStats {
+    @Id
+    private Long productId;
+
+    @Column(nullable = false)
+    private Double unitsPerDay;
+
+    @Column(nullable = false)
+    private Double ordersPerDay;
+
+    @Column(nullable = false)
+    private Instant asOf;
+}
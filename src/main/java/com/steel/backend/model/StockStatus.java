@@ -0,0 +1,12 @@
+package com.steel.backend.model;
+
+public enum StockStatus {
+    OUT_OF_STOCK,
+    LOW_STOCK,
+    IN_STOCK;
+
+    public static StockStatus of(int quantity, int lowStockThreshold) {
+        if (quantity <= 0) return OUT_OF_STOCK;
+        return quantity <= lowStockThreshold ? LOW_STOCK : IN_STOCK;
+    }
+}
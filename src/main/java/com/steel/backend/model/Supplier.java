@@ -1,11 +1,13 @@
 package com.steel.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.util.Set;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "suppliers")
 @Getter
 @Setter
@@ -23,7 +25,8 @@ public class Supplier {
     private String contactInfo;
 
     @ElementCollection
-    @CollectionTable(name = "supplier_products", joinColumns = @JoinColumn(name = "supplier_id"))
+    @CollectionTable(name = "supplier_products", joinColumns = @JoinColumn(name = "supplier_id"),
+            indexes = @Index(name = "idx_supplier_products_product_name", columnList = "product_name"))
     @Column(name = "product_name")
     private Set<String> suppliedProducts;
 }
@@ -0,0 +1,36 @@
+package com.steel.backend.repository;
+
+import com.steel.backend.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, client_id, total_price, status, created_at, updated_at, archived_at) " +
+            "SELECT id, client_id, total_price, status, created_at, updated_at, :archivedAt FROM orders WHERE id IN (:ids) AND status = :status",
+            nativeQuery = true)
+    int copyOrders(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                   @Param("archivedAt") Instant archivedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, product_id, quantity, price) " +
+            "SELECT id, order_id, product_id, quantity, price FROM order_items WHERE order_id IN (:ids)",
+            nativeQuery = true)
+    int copyOrderItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_items WHERE order_id IN (:ids)", nativeQuery = true)
+    int deleteOrderItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int deleteOrders(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,55 @@
+package com.steel.backend.repository;
+
+import com.steel.backend.model.CatalogEntry;
+import com.steel.backend.model.StockStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CatalogEntryRepository extends JpaRepository<CatalogEntry, Long> {
+
+    @Query("select e from CatalogEntry e where (:category is null or e.category = :category) " +
+            "and (:stockStatus is null or e.stockStatus = :stockStatus) " +
+            "and (:supplierId is null or e.supplierId = :supplierId) " +
+            "and (:namePattern is null or lower(e.name) like :namePattern)")
+    Page<CatalogEntry> search(@Param("category") String category,
+                              @Param("stockStatus") StockStatus stockStatus,
+                              @Param("supplierId") Long supplierId,
+                              @Param("namePattern") String namePattern,
+                              Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from CatalogEntry e where e.productId = :productId")
+    Optional<CatalogEntry> lockById(@Param("productId") Long productId);
+
+    List<CatalogEntry> findByProductIdGreaterThanAndProductIdLessThanEqualOrderByProductId(Long afterId, Long toId);
+
+    @Modifying
+    @Query("delete from CatalogEntry e where e.productId > :afterId")
+    int deleteByProductIdAfter(@Param("afterId") Long afterId);
+
+    @Modifying
+    @Query("update CatalogEntry e set e.quantityInStock = :quantity, e.stockStatus = :stockStatus, " +
+            "e.refreshedAt = :now where e.productId = :productId")
+    int updateStock(@Param("productId") Long productId,
+                    @Param("quantity") Integer quantity,
+                    @Param("stockStatus") StockStatus stockStatus,
+                    @Param("now") Instant now);
+
+    @Modifying
+    @Query("update CatalogEntry e set e.supplierName = :name, e.refreshedAt = :now where e.supplierId = :supplierId")
+    int updateSupplierName(@Param("supplierId") Long supplierId,
+                           @Param("name") String name,
+                           @Param("now") Instant now);
+}
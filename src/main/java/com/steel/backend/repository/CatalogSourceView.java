@@ -0,0 +1,14 @@
+package com.steel.backend.repository;
+
+import java.math.BigDecimal;
+
+public interface CatalogSourceView {
+    Long getId();
+    String getName();
+    String getCategory();
+    String getDescription();
+    BigDecimal getPrice();
+    Integer getQuantityInStock();
+    Long getSupplierId();
+    String getSupplierName();
+}
@@ -1,15 +1,24 @@
 package com.steel.backend.repository;
 
 import com.steel.backend.model.Client;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-@Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {}
-
-
-
-
+import java.util.List;
 
+@Repository
+public interface ClientRepository extends JpaRepository<Client, Long> {
 
+    @Query("select c from Client c where (:country is null or c.country = :country) " +
+            "and (:businessType is null or c.businessType = :businessType)")
+    Slice<Client> search(@Param("country") String country,
+                         @Param("businessType") String businessType,
+                         Pageable pageable);
 
+    @Query("select c.country, c.businessType, count(c) from Client c group by c.country, c.businessType")
+    List<Object[]> countByCountryAndBusinessType();
+}
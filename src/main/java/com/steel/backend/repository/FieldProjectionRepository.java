@@ -0,0 +1,93 @@
+package com.steel.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Runs sparse-fieldset queries: only the requested columns are selected, and an
+ * association is joined only when one of its non-id attributes is requested.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class FieldProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Map<String, Object>> findAll(Class<?> entityType, Map<String, String> fields) {
+        return query(entityType, fields, null);
+    }
+
+    public Optional<Map<String, Object>> findById(Class<?> entityType, Map<String, String> fields, Long id) {
+        return query(entityType, fields, id).stream().findFirst();
+    }
+
+    /**
+     * Resolves a {@code fields=} parameter against the fields an endpoint exposes,
+     * mapping each public field name to its attribute path. Returns null when no
+     * selection was requested.
+     */
+    public static Map<String, String> resolve(String fields, Map<String, String> allowed) {
+        if (fields == null || fields.isBlank()) return null;
+        Map<String, String> selected = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) continue;
+            String path = allowed.get(name);
+            if (path == null) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', allowed: " + allowed.keySet());
+            }
+            selected.put(name, path);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + allowed.keySet());
+        }
+        return selected;
+    }
+
+    private List<Map<String, Object>> query(Class<?> entityType, Map<String, String> fields, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<?> root = cq.from(entityType);
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            selections.add(path(root, joins, field.getValue()).alias(field.getKey()));
+        }
+        cq.multiselect(selections);
+        if (id != null) {
+            cq.where(cb.equal(root.get("id"), id));
+        }
+        cq.orderBy(cb.asc(root.get("id")));
+
+        List<Tuple> rows = entityManager.createQuery(cq).getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>(fields.size() * 2);
+            for (String name : fields.keySet()) {
+                values.put(name, row.get(name));
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    private static Path<?> path(Root<?> root, Map<String, Join<?, ?>> joins, String attributePath) {
+        int dot = attributePath.indexOf('.');
+        if (dot < 0) return root.get(attributePath);
+        String association = attributePath.substring(0, dot);
+        String attribute = attributePath.substring(dot + 1);
+        if ("id".equals(attribute)) {
+            // The foreign key column already holds the id; no join needed.
+            return root.get(association).get(attribute);
+        }
+        return joins.computeIfAbsent(association, a -> root.join(a, JoinType.LEFT)).get(attribute);
+    }
+}
@@ -0,0 +1,12 @@
+package com.steel.backend.repository;
+
+import com.steel.backend.model.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Long> {
+    Optional<LedgerCheckpoint> findTopByJournalIdOrderByIdDesc(String journalId);
+}
@@ -0,0 +1,22 @@
+package com.steel.backend.repository;
+
+import com.steel.backend.model.LedgerCheckpointStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerCheckpointStockRepository extends JpaRepository<LedgerCheckpointStock, LedgerCheckpointStock.Key> {
+
+    @Query("select s.productId, s.quantity from LedgerCheckpointStock s where s.checkpointId = :checkpointId")
+    List<Object[]> findQuantities(@Param("checkpointId") Long checkpointId);
+
+    @Modifying
+    @Query("delete from LedgerCheckpointStock s where s.checkpointId < :checkpointId and s.checkpointId in " +
+            "(select c.id from LedgerCheckpoint c where c.journalId = :journalId)")
+    int deleteOlderThan(@Param("journalId") String journalId, @Param("checkpointId") Long checkpointId);
+}
@@ -0,0 +1,9 @@
+package com.steel.backend.repository;
+
+import java.time.Instant;
+
+public interface OrderItemEventView {
+    Long getProductId();
+    Integer getQuantity();
+    Instant getCreatedAt();
+}
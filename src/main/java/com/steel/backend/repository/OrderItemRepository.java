@@ -1,15 +1,30 @@
 package com.steel.backend.repository;
 
 import com.steel.backend.model.OrderItem;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-@Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {}
-
-
-
-
-
+import java.time.Instant;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    // Orders from before created_at existed have it NULL; their last update is the best date left.
+    @Query("select i.product.id as productId, sum(i.quantity) as units from OrderItem i join i.order o " +
+            "where coalesce(o.createdAt, o.updatedAt) >= :since group by i.product.id")
+    Stream<ProductDemandView> streamDemandSince(@Param("since") Instant since);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "5000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select i.product.id as productId, i.quantity as quantity, coalesce(o.createdAt, o.updatedAt) as createdAt " +
+            "from OrderItem i join i.order o where coalesce(o.createdAt, o.updatedAt) >= :since")
+    Stream<OrderItemEventView> streamItemEventsSince(@Param("since") Instant since);
+}
@@ -1,15 +1,73 @@
 package com.steel.backend.repository;
 
 import com.steel.backend.model.Order;
+import com.steel.backend.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {}
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @EntityGraph(attributePaths = {"client", "items", "items.product"})
+    @Query("select o from Order o order by o.id")
+    List<Order> findAllWithDetails();
+
+    @EntityGraph(attributePaths = {"client", "items", "items.product"})
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findWithDetailsById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> lockById(@Param("id") Long id);
+
+    @Query("select o.client.id from Order o group by o.client.id order by max(o.id) desc")
+    List<Long> findRecentClientIds(Pageable pageable);
 
+    /**
+     * Locks the next archivable orders. Rows from before {@code updated_at} existed have it
+     * NULL and count as old; the row lock makes Postgres re-check the status of any row
+     * changed concurrently, so an order that left the status is skipped.
+     */
+    @Query(value = "SELECT id FROM orders WHERE status = :status AND (updated_at IS NULL OR updated_at < :cutoff) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockIdsByStatusUpdatedBefore(@Param("status") String status,
+                                            @Param("cutoff") Instant cutoff,
+                                            @Param("limit") int limit);
 
+    @Query("select count(o) from Order o where o.status = :status and (o.updatedAt is null or o.updatedAt < :cutoff)")
+    long countByStatusUpdatedBefore(@Param("status") OrderStatus status, @Param("cutoff") Instant cutoff);
 
+    @Query("select min(o.updatedAt) from Order o where o.status = :status")
+    Instant findOldestUpdatedAtByStatus(@Param("status") OrderStatus status);
 
+    boolean existsByStatusAndUpdatedAtIsNull(OrderStatus status);
 
+    @Query("select o.id, o.status from Order o where o.id in :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
 
+    @Query("select o.id from Order o where o.status = :status and (:clientId is null or o.client.id = :clientId) " +
+            "and o.id > :afterId order by o.id")
+    List<Long> findIdsByStatusAfter(@Param("status") OrderStatus status,
+                                    @Param("clientId") Long clientId,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
 
+    @Modifying
+    @Query("update Order o set o.status = :to, o.updatedAt = :now where o.id in :ids and o.status = :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to,
+                         @Param("now") Instant now);
+}
@@ -0,0 +1,16 @@
+package com.steel.backend.repository;
+
+import com.steel.backend.model.ProductDemandStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductDemandStatsRepository extends JpaRepository<ProductDemandStats, Long> {
+
+    @Query("select s.productId from ProductDemandStats s order by s.unitsPerDay desc")
+    List<Long> findBusiestProductIds(Pageable pageable);
+}
@@ -0,0 +1,6 @@
+package com.steel.backend.repository;
+
+public interface ProductDemandView {
+    Long getProductId();
+    Long getUnits();
+}
@@ -1,12 +1,99 @@
 package com.steel.backend.repository;
 
 import com.steel.backend.model.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    @EntityGraph(attributePaths = "supplier")
+    @Query("select p from Product p order by p.id")
+    List<Product> findAllWithSupplier();
+
+    @EntityGraph(attributePaths = {"supplier", "supplier.suppliedProducts"})
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findWithSupplierById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"supplier", "supplier.suppliedProducts"})
+    @Query("select p from Product p where p.id in :ids")
+    List<Product> findWithSupplierByIdIn(@Param("ids") Collection<Long> ids);
+
     java.util.List<Product> findByQuantityInStockLessThanEqual(Integer threshold);
-}
 
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    // Sharded products keep their live stock in product_stock_shards.
+    @Query("select p.id as id, p.name as name, p.supplier.id as supplierId, p.price as price, " +
+            "cast(coalesce(sum(s.quantity), p.quantityInStock) as Integer) as quantityInStock " +
+            "from Product p left join ProductStockShard s on s.productId = p.id " +
+            "group by p.id, p.name, p.supplier.id, p.price, p.quantityInStock " +
+            "having coalesce(sum(s.quantity), p.quantityInStock) <= :threshold")
+    Stream<ProductStockView> streamLowStock(@Param("threshold") Integer threshold);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> lockById(@Param("id") Long id);
+
+    @Query("select p.stockShards from Product p where p.id = :id")
+    Integer findStockShards(@Param("id") Long id);
 
+    @Query("select p.id, p.stockShards from Product p where p.stockShards is not null")
+    List<Object[]> findShardCounts();
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stockShards = :count where p.id = :id")
+    int setStockShards(@Param("id") Long id, @Param("count") Integer count);
+
+    /**
+     * Backfills the shard count of products sharded before the column existed.
+     */
+    @Modifying
+    @Query(value = "UPDATE products p SET stock_shards = s.shards FROM " +
+            "(SELECT product_id, count(*) AS shards FROM product_stock_shards GROUP BY product_id) s " +
+            "WHERE p.id = s.product_id AND p.stock_shards IS NULL", nativeQuery = true)
+    int backfillStockShards();
+
+    /**
+     * Takes stock from an unsharded product row. Returns 0 on shortfall or when the product
+     * is sharded, including by a transaction that commits while this one waits for the row.
+     * The row stays locked until commit, so {@link #findQuantityInStock} afterwards reads
+     * exactly what this update left.
+     */
+    @Modifying
+    @Query("update Product p set p.quantityInStock = p.quantityInStock - :quantity " +
+            "where p.id = :id and p.stockShards is null and p.quantityInStock >= :quantity")
+    int decrementUnsharded(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("select p.quantityInStock from Product p where p.id = :id")
+    Integer findQuantityInStock(@Param("id") Long id);
+
+    @Query("select p.id, p.quantityInStock from Product p")
+    List<Object[]> findAllStockLevels();
+
+    @Query("select p.id as id, p.name as name, p.category as category, p.description as description, " +
+            "p.price as price, p.quantityInStock as quantityInStock, s.id as supplierId, s.name as supplierName " +
+            "from Product p left join p.supplier s where p.id > :afterId order by p.id")
+    List<CatalogSourceView> findCatalogSourceAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select p.id as id, p.name as name, p.category as category, p.description as description, " +
+            "p.price as price, p.quantityInStock as quantityInStock, s.id as supplierId, s.name as supplierName " +
+            "from Product p left join p.supplier s where p.id in :ids")
+    List<CatalogSourceView> findCatalogSourceByIdIn(@Param("ids") Collection<Long> ids);
+}
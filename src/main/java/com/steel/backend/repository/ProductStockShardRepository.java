@@ -0,0 +1,39 @@
+package com.steel.backend.repository;
+
+import com.steel.backend.model.ProductStockShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductStockShardRepository extends JpaRepository<ProductStockShard, ProductStockShard.Key> {
+
+    @Query("select distinct s.productId from ProductStockShard s")
+    List<Long> findShardedProductIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductStockShard s where s.productId = :productId order by s.shard")
+    List<ProductStockShard> lockShards(@Param("productId") Long productId);
+
+    @Query("select s.productId, sum(s.quantity) from ProductStockShard s where s.productId in :ids group by s.productId")
+    List<Object[]> sumByProductIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select coalesce(sum(s.quantity), 0L) from ProductStockShard s where s.productId = :productId")
+    long sumByProductId(@Param("productId") Long productId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update ProductStockShard s set s.quantity = s.quantity - :quantity " +
+            "where s.productId = :productId and s.shard = :shard and s.quantity >= :quantity")
+    int tryDecrement(@Param("productId") Long productId, @Param("shard") int shard, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("delete from ProductStockShard s where s.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
@@ -0,0 +1,11 @@
+package com.steel.backend.repository;
+
+import java.math.BigDecimal;
+
+public interface ProductStockView {
+    Long getId();
+    String getName();
+    Long getSupplierId();
+    BigDecimal getPrice();
+    Integer getQuantityInStock();
+}
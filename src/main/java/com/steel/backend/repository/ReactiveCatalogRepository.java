@@ -0,0 +1,113 @@
+package com.steel.backend.repository;
+
+import com.steel.backend.web.dto.CatalogDtos;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Non-blocking catalog reads over R2DBC. The pool is owned here rather than exposed as a
+ * {@code ConnectionFactory} bean, which would switch off the JDBC {@code DataSource}
+ * auto-configuration the rest of the application runs on. Streams fetch
+ * {@code app.reactive-catalog.fetch-size} rows at a time, driven by subscriber demand.
+ */
+@Repository
+public class ReactiveCatalogRepository {
+    // Sharded products keep their live stock in product_stock_shards.
+    private static final String PRODUCT_SELECT = "select p.id, p.name, p.category, p.description, p.price, " +
+            "coalesce((select sum(s.quantity) from product_stock_shards s where s.product_id = p.id), " +
+            "p.quantity_in_stock) as quantity_in_stock, p.supplier_id, sup.name as supplier_name " +
+            "from products p left join suppliers sup on sup.id = p.supplier_id ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final int fetchSize;
+
+    public ReactiveCatalogRepository(@Value("${app.reactive-catalog.url:r2dbc:postgresql://127.0.0.1:5432/steel_db}") String url,
+                                     @Value("${spring.datasource.username}") String username,
+                                     @Value("${spring.datasource.password}") String password,
+                                     @Value("${app.reactive-catalog.pool-size:20}") int poolSize,
+                                     @Value("${app.reactive-catalog.fetch-size:256}") int fetchSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(0)
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+        this.client = DatabaseClient.create(pool);
+        this.fetchSize = fetchSize;
+    }
+
+    @PreDestroy
+    void close() {
+        pool.dispose();
+    }
+
+    public Flux<CatalogDtos.ProductRow> streamProducts(long afterId, int limit) {
+        return client.sql(PRODUCT_SELECT + "where p.id > :afterId order by p.id limit :limit")
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveCatalogRepository::product)
+                .all();
+    }
+
+    public Mono<CatalogDtos.ProductRow> findProduct(long id) {
+        return client.sql(PRODUCT_SELECT + "where p.id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::product)
+                .one();
+    }
+
+    public Flux<CatalogDtos.ProductRow> streamLowStock(int threshold) {
+        return client.sql("select * from (" + PRODUCT_SELECT + ") p where p.quantity_in_stock <= :threshold order by p.id")
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .bind("threshold", threshold)
+                .map(ReactiveCatalogRepository::product)
+                .all();
+    }
+
+    public Flux<CatalogDtos.SupplierRow> streamSuppliers() {
+        return client.sql("select s.id, s.name, s.contact_info, " +
+                        "array_remove(array_agg(sp.product_name order by sp.product_name), null) as supplied_products " +
+                        "from suppliers s left join supplier_products sp on sp.supplier_id = s.id " +
+                        "group by s.id, s.name, s.contact_info order by s.id")
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map(row -> {
+                    String[] products = row.get("supplied_products", String[].class);
+                    return new CatalogDtos.SupplierRow(row.get("id", Long.class), row.get("name", String.class),
+                            row.get("contact_info", String.class),
+                            products == null ? List.of() : Arrays.asList(products));
+                })
+                .all();
+    }
+
+    private static CatalogDtos.ProductRow product(Readable row) {
+        Number quantity = row.get("quantity_in_stock", Number.class);
+        return new CatalogDtos.ProductRow(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("category", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class),
+                quantity == null ? null : quantity.intValue(),
+                row.get("supplier_id", Long.class),
+                row.get("supplier_name", String.class));
+    }
+}
@@ -1,15 +1,38 @@
 package com.steel.backend.repository;
 
 import com.steel.backend.model.Supplier;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-@Repository
-public interface SupplierRepository extends JpaRepository<Supplier, Long> {}
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+@Repository
+public interface SupplierRepository extends JpaRepository<Supplier, Long> {
 
+    @Query("select s.id, p from Supplier s join s.suppliedProducts p")
+    List<Object[]> findAllSuppliedProductPairs();
 
+    @Query("select distinct s.id, p.category from Supplier s join s.suppliedProducts n, Product p " +
+            "where lower(p.name) = lower(n) and p.category is not null")
+    List<Object[]> findAllSuppliedCategoryPairs();
 
+    @Query("select distinct s.id, p.category from Supplier s join s.suppliedProducts n, Product p " +
+            "where s.id in :ids and lower(p.name) = lower(n) and p.category is not null")
+    List<Object[]> findSuppliedCategoryPairsBySupplierIdIn(@Param("ids") Collection<Long> ids);
 
+    @EntityGraph(attributePaths = "suppliedProducts")
+    @Query("select s from Supplier s order by s.id")
+    List<Supplier> findAllWithProducts();
 
+    @EntityGraph(attributePaths = "suppliedProducts")
+    @Query("select s from Supplier s where s.id = :id")
+    Optional<Supplier> findWithProductsById(@Param("id") Long id);
 
+    @EntityGraph(attributePaths = "suppliedProducts")
+    List<Supplier> findByIdIn(Collection<Long> ids);
+}
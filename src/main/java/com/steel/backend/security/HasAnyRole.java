@@ -0,0 +1,16 @@
+package com.steel.backend.security;
+
+import com.steel.backend.model.RoleType;
+
+import java.lang.annotation.*;
+
+/**
+ * Restricts a controller method, or every method of a controller, to users holding at
+ * least one of the given roles. Checked by {@link RoleAuthorizationManager}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HasAnyRole {
+    RoleType[] value();
+}
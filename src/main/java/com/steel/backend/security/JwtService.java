@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import java.security.Key;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -22,6 +23,12 @@ public class JwtService {
     @Value("${app.jwt.expiration-ms}")
     private long expirationMs;
 
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtService(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -34,6 +41,7 @@ public class JwtService {
     public String generateToken(String username, Map<String, Object> extraClaims) {
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
@@ -42,16 +50,20 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, String username) {
-        final String usernameFromToken = extractUsername(token);
-        return (usernameFromToken.equals(username) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(username)
+                && !claims.getExpiration().before(new Date())
+                && !tokenRevocationService.isRevoked(claims.getId());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public void revoke(String token) {
+        final Claims claims = extractAllClaims(token);
+        tokenRevocationService.revoke(claims.getId(), claims.getSubject(), claims.getExpiration().toInstant());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public void revokeId(String jti) {
+        // The token itself is unknown, so keep the entry for the longest possible token lifetime.
+        tokenRevocationService.revoke(jti, null, new Date(System.currentTimeMillis() + expirationMs).toInstant());
     }
 
     private Claims extractAllClaims(String token) {
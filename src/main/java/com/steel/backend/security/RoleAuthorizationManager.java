@@ -0,0 +1,67 @@
+package com.steel.backend.security;
+
+import com.steel.backend.model.RoleType;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates {@link HasAnyRole} without SpEL. Each method's roles are resolved once into a
+ * bitmask and checked against the mask precomputed on {@link UserDetailsImpl}; the
+ * decisions are shared constants, so a check allocates nothing.
+ */
+public class RoleAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Map<Method, Integer> masks = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated()) return DENIED;
+        Integer required = masks.get(invocation.getMethod());
+        if (required == null) {
+            required = requiredMask(invocation.getMethod(), invocation);
+            masks.put(invocation.getMethod(), required);
+        }
+        if (current.getPrincipal() instanceof UserDetailsImpl user) {
+            return user.hasAnyRole(required) ? GRANTED : DENIED;
+        }
+        for (GrantedAuthority authority : current.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                try {
+                    if ((required & 1 << RoleType.valueOf(name.substring(5)).ordinal()) != 0) return GRANTED;
+                } catch (IllegalArgumentException ignored) {
+                    // Not one of our roles.
+                }
+            }
+        }
+        return DENIED;
+    }
+
+    private static int requiredMask(Method method, MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() == null ? method.getDeclaringClass()
+                : AopUtils.getTargetClass(invocation.getThis());
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        HasAnyRole roles = AnnotatedElementUtils.findMergedAnnotation(specific, HasAnyRole.class);
+        if (roles == null) {
+            roles = AnnotatedElementUtils.findMergedAnnotation(targetClass, HasAnyRole.class);
+        }
+        if (roles == null) {
+            throw new IllegalStateException("No @HasAnyRole on " + specific);
+        }
+        return UserDetailsImpl.mask(List.of(roles.value()));
+    }
+}
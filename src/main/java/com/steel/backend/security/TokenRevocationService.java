@@ -0,0 +1,82 @@
+package com.steel.backend.security;
+
+import com.steel.backend.model.RevokedToken;
+import com.steel.backend.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWT ids. Lookups never touch the database: a Bloom filter rejects the common
+ * (not revoked) case, and hits are confirmed against an exact in-memory set. Both are
+ * rebuilt from {@code revoked_tokens} on a schedule, which also picks up revocations
+ * made on other nodes and drops expired entries.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private volatile Snapshot snapshot = new Snapshot(new BloomFilter(1024, 0.01), new ConcurrentHashMap<>());
+
+    @Value("${app.jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) return false;
+        Snapshot current = snapshot;
+        return current.bloom.mightContain(jti) && current.exact.containsKey(jti);
+    }
+
+    public void revoke(String jti, String username, Instant expiresAt) {
+        if (jti == null || expiresAt.isBefore(Instant.now())) return;
+        revokedTokenRepository.save(new RevokedToken(jti, username, expiresAt, Instant.now()));
+        synchronized (this) {
+            snapshot.add(jti, expiresAt);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-interval-ms:30000}",
+            initialDelayString = "${app.jwt.revocation.refresh-interval-ms:30000}")
+    public void rebuild() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        Map<String, Instant> exact = new ConcurrentHashMap<>();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            exact.put(token.getJti(), token.getExpiresAt());
+        }
+        BloomFilter bloom = new BloomFilter(Math.max(1024, exact.size() * 2), falsePositiveRate);
+        exact.keySet().forEach(bloom::put);
+        synchronized (this) {
+            // Keep local revocations whose insert raced with the query above.
+            Snapshot next = new Snapshot(bloom, exact);
+            snapshot.exact.forEach((jti, expiresAt) -> {
+                if (!exact.containsKey(jti) && expiresAt.isAfter(now)) next.add(jti, expiresAt);
+            });
+            snapshot = next;
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired token revocations, {} active", purged, exact.size());
+        }
+    }
+
+    private record Snapshot(BloomFilter bloom, Map<String, Instant> exact) {
+        void add(String jti, Instant expiresAt) {
+            exact.put(jti, expiresAt);
+            bloom.put(jti);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.steel.backend.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Authentication for a verified JWT. Hands out the user's interned authority set as-is
+ * instead of copying it the way {@code UsernamePasswordAuthenticationToken} does.
+ */
+public class UserAuthentication implements Authentication {
+    private final UserDetailsImpl user;
+    private volatile boolean authenticated = true;
+
+    public UserAuthentication(UserDetailsImpl user) {
+        this.user = user;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return user.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public UserDetailsImpl getPrincipal() {
+        return user;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (authenticated) {
+            throw new IllegalArgumentException("Cannot mark a token as trusted after creation");
+        }
+        this.authenticated = false;
+    }
+
+    @Override
+    public String getName() {
+        return user.getUsername();
+    }
+}
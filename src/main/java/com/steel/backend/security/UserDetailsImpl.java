@@ -6,24 +6,39 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class UserDetailsImpl implements UserDetails {
+    private static final RoleType[] ROLES = RoleType.values();
+    // One immutable authority set per combination of roles, indexed by role bitmask.
+    private static final List<Set<GrantedAuthority>> AUTHORITIES = internAuthorities();
+
     private final User user;
+    private final int roleMask;
 
     public UserDetailsImpl(User user) {
         this.user = user;
+        this.roleMask = user.getRoles() == null ? 0 : mask(user.getRoles());
+    }
+
+    public static int mask(Collection<RoleType> roles) {
+        int mask = 0;
+        for (RoleType role : roles) {
+            mask |= 1 << role.ordinal();
+        }
+        return mask;
+    }
+
+    public boolean hasAnyRole(int mask) {
+        return (roleMask & mask) != 0;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Set<RoleType> roles = user.getRoles();
-        if (roles == null) return Set.of();
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
-                .collect(Collectors.toSet());
+        return AUTHORITIES.get(roleMask);
     }
 
     @Override
@@ -44,11 +59,20 @@ public class UserDetailsImpl implements UserDetails {
     public boolean isCredentialsNonExpired() { return true; }
     @Override
     public boolean isEnabled() { return true; }
-}
-
-
-
-
-
-
 
+    private static List<Set<GrantedAuthority>> internAuthorities() {
+        GrantedAuthority[] byRole = new GrantedAuthority[ROLES.length];
+        for (RoleType role : ROLES) {
+            byRole[role.ordinal()] = new SimpleGrantedAuthority("ROLE_" + role.name());
+        }
+        List<Set<GrantedAuthority>> sets = new ArrayList<>(1 << ROLES.length);
+        for (int mask = 0; mask < 1 << ROLES.length; mask++) {
+            List<GrantedAuthority> granted = new ArrayList<>();
+            for (int ordinal = 0; ordinal < ROLES.length; ordinal++) {
+                if ((mask & 1 << ordinal) != 0) granted.add(byRole[ordinal]);
+            }
+            sets.add(Set.copyOf(granted));
+        }
+        return List.copyOf(sets);
+    }
+}
@@ -0,0 +1,135 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.OrderStatus;
+import com.steel.backend.repository.OrderRepository;
+import com.steel.backend.web.dto.BulkStatusDtos;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Applies an {@link OrderStatus} transition to many orders with set-based UPDATEs, one
+ * transaction per chunk. Each UPDATE is guarded by the expected current status, so an
+ * order changed concurrently is reported instead of being overwritten. A filter walks at
+ * most {@code max-orders} orders per call and returns a cursor to continue from.
+ */
+@Service
+public class BulkOrderStatusService {
+    public static final String UPDATED = "UPDATED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INVALID_TRANSITION = "INVALID_TRANSITION";
+    public static final String CONFLICT = "CONFLICT";
+
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.orders.bulk-status.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.orders.bulk-status.max-orders:10000}")
+    private int maxOrders;
+
+    public BulkOrderStatusService(OrderRepository orderRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkStatusDtos.BulkStatusResponse transition(BulkStatusDtos.BulkStatusRequest request) {
+        OrderStatus target = request.status();
+        List<BulkStatusDtos.Outcome> outcomes = new ArrayList<>();
+        Long nextAfterId = null;
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.ids()));
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                outcomes.addAll(applyChunk(chunk, target));
+            }
+        } else if (request.filter() != null) {
+            BulkStatusDtos.Filter filter = request.filter();
+            if (!filter.status().canTransitionTo(target)) {
+                throw new IllegalArgumentException("Cannot move orders from " + filter.status() + " to " + target);
+            }
+            long afterId = filter.afterId() == null ? 0 : filter.afterId();
+            int walked = 0;
+            boolean more = false;
+            while (walked < maxOrders) {
+                List<Long> chunk = orderRepository.findIdsByStatusAfter(filter.status(), filter.clientId(), afterId,
+                        PageRequest.of(0, Math.min(chunkSize, maxOrders - walked)));
+                if (chunk.isEmpty()) break;
+                outcomes.addAll(applyChunk(chunk, target));
+                afterId = chunk.get(chunk.size() - 1);
+                walked += chunk.size();
+                more = walked >= maxOrders;
+                if (chunk.size() < chunkSize && !more) break;
+            }
+            nextAfterId = more ? afterId : null;
+        } else {
+            throw new IllegalArgumentException("Either ids or filter is required");
+        }
+
+        int updated = (int) outcomes.stream().filter(o -> UPDATED.equals(o.outcome())).count();
+        return new BulkStatusDtos.BulkStatusResponse(target, updated, outcomes.size() - updated, outcomes,
+                nextAfterId);
+    }
+
+    private List<BulkStatusDtos.Outcome> applyChunk(List<Long> chunk, OrderStatus target) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, OrderStatus> current = new HashMap<>(chunk.size() * 2);
+            for (Object[] row : orderRepository.findStatusesByIdIn(chunk)) {
+                current.put((Long) row[0], (OrderStatus) row[1]);
+            }
+
+            Map<OrderStatus, List<Long>> bySource = new EnumMap<>(OrderStatus.class);
+            List<BulkStatusDtos.Outcome> outcomes = new ArrayList<>(chunk.size());
+            for (Long id : chunk) {
+                OrderStatus previous = current.get(id);
+                if (previous == null) {
+                    outcomes.add(new BulkStatusDtos.Outcome(id, NOT_FOUND, null));
+                } else if (!previous.canTransitionTo(target)) {
+                    outcomes.add(new BulkStatusDtos.Outcome(id, INVALID_TRANSITION, previous));
+                } else {
+                    bySource.computeIfAbsent(previous, s -> new ArrayList<>()).add(id);
+                }
+            }
+
+            Instant now = Instant.now();
+            List<Long> changed = new ArrayList<>();
+            for (Map.Entry<OrderStatus, List<Long>> entry : bySource.entrySet()) {
+                List<Long> ids = entry.getValue();
+                int count = orderRepository.transitionStatus(ids, entry.getKey(), target, now);
+                if (count == ids.size()) {
+                    changed.addAll(ids);
+                    ids.forEach(id -> outcomes.add(new BulkStatusDtos.Outcome(id, UPDATED, entry.getKey())));
+                    continue;
+                }
+                // Some rows moved under us; re-read to tell which ones this statement updated.
+                Map<Long, OrderStatus> after = new HashMap<>();
+                for (Object[] row : orderRepository.findStatusesByIdIn(ids)) {
+                    after.put((Long) row[0], (OrderStatus) row[1]);
+                }
+                for (Long id : ids) {
+                    if (after.get(id) == target) {
+                        changed.add(id);
+                        outcomes.add(new BulkStatusDtos.Outcome(id, UPDATED, entry.getKey()));
+                    } else {
+                        outcomes.add(new BulkStatusDtos.Outcome(id, CONFLICT, after.get(id)));
+                    }
+                }
+            }
+            if (!changed.isEmpty()) {
+                eventPublisher.publishEvent(new OrderStatusesChangedEvent(List.copyOf(changed), target));
+            }
+            return outcomes;
+        });
+    }
+}
@@ -0,0 +1,232 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.CatalogEntry;
+import com.steel.backend.model.StockStatus;
+import com.steel.backend.repository.CatalogEntryRepository;
+import com.steel.backend.repository.CatalogSourceView;
+import com.steel.backend.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Keeps {@code catalog_entries} in step with products, suppliers and stock. Writes are
+ * applied incrementally from change events after the source transaction commits;
+ * {@link #reconcile()} walks both sides in product-id order, repairs any drift (missed
+ * events, direct SQL changes) and reports what it fixed.
+ */
+@Service
+public class CatalogReadModel {
+    private static final Logger log = LoggerFactory.getLogger(CatalogReadModel.class);
+
+    private final CatalogEntryRepository catalogEntryRepository;
+    private final ProductRepository productRepository;
+    private final StockShardService stockShardService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.catalog.low-stock-threshold:10}")
+    private int lowStockThreshold;
+
+    @Value("${app.catalog.reconcile-batch-size:1000}")
+    private int batchSize;
+
+    public CatalogReadModel(CatalogEntryRepository catalogEntryRepository,
+                            ProductRepository productRepository,
+                            StockShardService stockShardService,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.catalogEntryRepository = catalogEntryRepository;
+        this.productRepository = productRepository;
+        this.stockShardService = stockShardService;
+        // Listeners run after the source transaction commits, while its resources are still
+        // bound; joining that finished transaction would fail or silently drop the write.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<CatalogSourceView> source = productRepository.findCatalogSourceByIdIn(List.of(event.productId()));
+            Optional<CatalogEntry> existing = catalogEntryRepository.findById(event.productId());
+            if (source.isEmpty()) {
+                existing.ifPresent(catalogEntryRepository::delete);
+            } else {
+                apply(entry(source.get(0), Instant.now()), existing.orElse(null));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        transactionTemplate.executeWithoutResult(status ->
+                catalogEntryRepository.updateSupplierName(event.supplierId(), event.name(), Instant.now()));
+    }
+
+    /**
+     * Copies the live stock rather than the event's snapshot: listeners of transactions
+     * that committed close together can run in either order. Locking the entry first
+     * makes them take turns, and each reads the stock committed so far.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        Long productId = event.productId();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (catalogEntryRepository.lockById(productId).isEmpty()) return;
+            Integer quantity = stockShardService.isSharded(productId)
+                    ? Integer.valueOf(stockShardService.available(productId))
+                    : productRepository.findQuantityInStock(productId);
+            if (quantity == null) return;
+            catalogEntryRepository.updateStock(productId, quantity, StockStatus.of(quantity, lowStockThreshold),
+                    Instant.now());
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (catalogEntryRepository.count() == 0) {
+            Report report = reconcile();
+            log.info("Built catalog read model with {} entries", report.inserted());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.reconcile-interval-ms:600000}",
+            initialDelayString = "${app.catalog.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        Report report = reconcile();
+        if (report.repaired() > 0) {
+            log.warn("Catalog read model drifted: {}", report);
+        }
+    }
+
+    /**
+     * Compares every catalog entry with its source rows, one product-id range per
+     * transaction, and rewrites entries that are missing, stale or orphaned.
+     */
+    public synchronized Report reconcile() {
+        long started = System.nanoTime();
+        long[] counts = new long[4];
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Long last = transactionTemplate.execute(status -> reconcileBatch(from, counts));
+            if (last == null) break;
+            afterId = last;
+        }
+        long endId = afterId;
+        counts[3] += Objects.requireNonNull(transactionTemplate.execute(status ->
+                catalogEntryRepository.deleteByProductIdAfter(endId)));
+
+        Report report = new Report(counts[0], counts[1], counts[2], counts[3],
+                (System.nanoTime() - started) / 1_000_000);
+        meterRegistry.counter("catalog.reconcile.repaired", "kind", "missing").increment(report.inserted());
+        meterRegistry.counter("catalog.reconcile.repaired", "kind", "stale").increment(report.updated());
+        meterRegistry.counter("catalog.reconcile.repaired", "kind", "orphaned").increment(report.deleted());
+        return report;
+    }
+
+    /**
+     * Reconciles the next {@code batchSize} products after {@code afterId}. Returns the last
+     * product id covered, or null when no products are left.
+     */
+    private Long reconcileBatch(long afterId, long[] counts) {
+        List<CatalogSourceView> source = productRepository.findCatalogSourceAfter(afterId, PageRequest.of(0, batchSize));
+        if (source.isEmpty()) return null;
+        long lastId = source.get(source.size() - 1).getId();
+        Map<Long, CatalogEntry> existing = new HashMap<>();
+        for (CatalogEntry entry : catalogEntryRepository
+                .findByProductIdGreaterThanAndProductIdLessThanEqualOrderByProductId(afterId, lastId)) {
+            existing.put(entry.getProductId(), entry);
+        }
+
+        Instant now = Instant.now();
+        List<CatalogEntry> inserts = new ArrayList<>();
+        for (CatalogSourceView row : source) {
+            counts[0]++;
+            CatalogEntry expected = entry(row, now);
+            CatalogEntry actual = existing.remove(row.getId());
+            if (actual == null) {
+                counts[1]++;
+                inserts.add(expected);
+            } else if (!matches(expected, actual)) {
+                counts[2]++;
+                apply(expected, actual);
+            }
+        }
+        catalogEntryRepository.saveAll(inserts);
+        // Entries left over in this id range have no product any more.
+        catalogEntryRepository.deleteAllInBatch(existing.values());
+        counts[3] += existing.size();
+        return lastId;
+    }
+
+    /**
+     * Inserts {@code expected}, or copies it onto the managed {@code actual} entry so the
+     * change is flushed as a plain UPDATE.
+     */
+    private void apply(CatalogEntry expected, CatalogEntry actual) {
+        if (actual == null) {
+            catalogEntryRepository.save(expected);
+            return;
+        }
+        actual.setName(expected.getName());
+        actual.setCategory(expected.getCategory());
+        actual.setDescription(expected.getDescription());
+        actual.setPrice(expected.getPrice());
+        actual.setQuantityInStock(expected.getQuantityInStock());
+        actual.setStockStatus(expected.getStockStatus());
+        actual.setSupplierId(expected.getSupplierId());
+        actual.setSupplierName(expected.getSupplierName());
+        actual.setRefreshedAt(expected.getRefreshedAt());
+    }
+
+    private CatalogEntry entry(CatalogSourceView row, Instant now) {
+        int quantity = stockShardService.isSharded(row.getId())
+                ? stockShardService.available(row.getId())
+                : row.getQuantityInStock();
+        return CatalogEntry.builder()
+                .productId(row.getId())
+                .name(row.getName())
+                .category(row.getCategory())
+                .description(row.getDescription())
+                .price(row.getPrice())
+                .quantityInStock(quantity)
+                .stockStatus(StockStatus.of(quantity, lowStockThreshold))
+                .supplierId(row.getSupplierId())
+                .supplierName(row.getSupplierName())
+                .refreshedAt(now)
+                .build();
+    }
+
+    private static boolean matches(CatalogEntry expected, CatalogEntry actual) {
+        return Objects.equals(expected.getName(), actual.getName())
+                && Objects.equals(expected.getCategory(), actual.getCategory())
+                && Objects.equals(expected.getDescription(), actual.getDescription())
+                && expected.getPrice().compareTo(actual.getPrice()) == 0
+                && Objects.equals(expected.getQuantityInStock(), actual.getQuantityInStock())
+                && expected.getStockStatus() == actual.getStockStatus()
+                && Objects.equals(expected.getSupplierId(), actual.getSupplierId())
+                && Objects.equals(expected.getSupplierName(), actual.getSupplierName());
+    }
+
+    public record Report(long checked, long inserted, long updated, long deleted, long elapsedMillis) {
+        public long repaired() {
+            return inserted + updated + deleted;
+        }
+    }
+}
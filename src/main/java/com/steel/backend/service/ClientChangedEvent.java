@@ -0,0 +1,6 @@
+package com.steel.backend.service;
+
+/**
+ * A client was created ({@code before} is null), updated, or deleted ({@code after} is null).
+ */
+public record ClientChangedEvent(ClientFacets.Key before, ClientFacets.Key after) {}
@@ -0,0 +1,100 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.Client;
+import com.steel.backend.repository.ClientRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client counts per (country, business type) pair, reloaded with a GROUP BY every
+ * {@code app.clients.facets.rebuild-interval-ms} (30s by default) so writes through other
+ * instances, or outside the API, show up within one interval. Between reloads this
+ * instance's own writes are applied from {@link ClientChangedEvent}s after commit.
+ * Country and business-type facets are summed from the pairs, so either can be narrowed
+ * by the other filter.
+ */
+@Service
+public class ClientFacets {
+    private final ClientRepository clientRepository;
+    private volatile Map<Key, Long> counts = new ConcurrentHashMap<>();
+
+    public ClientFacets(ClientRepository clientRepository) {
+        this.clientRepository = clientRepository;
+    }
+
+    public record Key(String country, String businessType) {
+        public static Key of(Client client) {
+            return new Key(client.getCountry(), client.getBusinessType());
+        }
+    }
+
+    public record Summary(long total, Map<String, Long> countries, Map<String, Long> businessTypes) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.clients.facets.rebuild-interval-ms:30000}",
+            initialDelayString = "${app.clients.facets.rebuild-interval-ms:30000}")
+    public synchronized void rebuild() {
+        Map<Key, Long> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : clientRepository.countByCountryAndBusinessType()) {
+            loaded.put(new Key((String) row[0], (String) row[1]), (Long) row[2]);
+        }
+        counts = loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onClientChanged(ClientChangedEvent event) {
+        if (Objects.equals(event.before(), event.after())) return;
+        if (event.before() != null) {
+            counts.computeIfPresent(event.before(), (key, count) -> count > 1 ? count - 1 : null);
+        }
+        if (event.after() != null) {
+            counts.merge(event.after(), 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Number of clients matching both filters; a null filter matches any value.
+     */
+    public long count(String country, String businessType) {
+        long total = 0;
+        for (Map.Entry<Key, Long> entry : counts.entrySet()) {
+            if (matches(entry.getKey(), country, businessType)) total += entry.getValue();
+        }
+        return total;
+    }
+
+    /**
+     * Country counts narrowed by {@code businessType} and business-type counts narrowed by
+     * {@code country}. Clients without a value are included in the total only.
+     */
+    public Summary summary(String country, String businessType) {
+        long total = 0;
+        Map<String, Long> countries = new TreeMap<>();
+        Map<String, Long> businessTypes = new TreeMap<>();
+        for (Map.Entry<Key, Long> entry : counts.entrySet()) {
+            Key key = entry.getKey();
+            long count = entry.getValue();
+            if (matches(key, country, businessType)) total += count;
+            if (key.country() != null && matches(key, null, businessType)) {
+                countries.merge(key.country(), count, Long::sum);
+            }
+            if (key.businessType() != null && matches(key, country, null)) {
+                businessTypes.merge(key.businessType(), count, Long::sum);
+            }
+        }
+        return new Summary(total, countries, businessTypes);
+    }
+
+    private static boolean matches(Key key, String country, String businessType) {
+        return (country == null || country.equals(key.country()))
+                && (businessType == null || businessType.equals(key.businessType()));
+    }
+}
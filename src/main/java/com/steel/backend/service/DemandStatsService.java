@@ -0,0 +1,253 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.ProductDemandStats;
+import com.steel.backend.repository.OrderItemEventView;
+import com.steel.backend.repository.OrderItemRepository;
+import com.steel.backend.repository.ProductDemandStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-product demand rates kept as exponentially decayed moving averages, so each
+ * ordered line costs one O(1) update. Rates are checkpointed to
+ * {@code product_demand_stats} and can be rebuilt from {@code order_items}.
+ */
+@Service
+public class DemandStatsService {
+    private static final Logger log = LoggerFactory.getLogger(DemandStatsService.class);
+    private static final double MILLIS_PER_DAY = 86_400_000d;
+
+    private final OrderItemRepository orderItemRepository;
+    private final ProductDemandStatsRepository statsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double tauDays;
+    private volatile Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    // Non-null while rebuild() runs; lines recorded meanwhile are replayed onto the rebuilt counters.
+    private volatile List<Pending> pending;
+    private final Object rebuildLock = new Object();
+
+    @Value("${app.demand.rebuild-window:P180D}")
+    private Duration rebuildWindow;
+
+    public DemandStatsService(OrderItemRepository orderItemRepository,
+                              ProductDemandStatsRepository statsRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.demand.half-life:P7D}") Duration halfLife) {
+        this.orderItemRepository = orderItemRepository;
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tauDays = halfLife.toMillis() / MILLIS_PER_DAY / Math.log(2);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Records a sold line once the surrounding transaction commits, or immediately
+     * when called outside a transaction.
+     */
+    public void recordAfterCommit(Long productId, int units) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(productId, units, System.currentTimeMillis());
+                }
+            });
+        } else {
+            record(productId, units, System.currentTimeMillis());
+        }
+    }
+
+    public void record(Long productId, int units, long atMillis) {
+        if (pending != null) {
+            synchronized (rebuildLock) {
+                if (pending != null) {
+                    pending.add(new Pending(productId, units, atMillis));
+                    return;
+                }
+            }
+        }
+        counters.computeIfAbsent(productId, id -> new Counter()).add(units, atMillis, tauDays);
+    }
+
+    public Optional<Snapshot> snapshot(Long productId) {
+        Counter counter = counters.get(productId);
+        return counter == null
+                ? Optional.empty()
+                : Optional.of(counter.snapshot(productId, System.currentTimeMillis(), tauDays));
+    }
+
+    public double unitsPerDay(Long productId) {
+        Counter counter = counters.get(productId);
+        return counter == null ? 0 : counter.snapshot(productId, System.currentTimeMillis(), tauDays).unitsPerDay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCheckpoint() {
+        Map<Long, Counter> loaded = new ConcurrentHashMap<>();
+        for (ProductDemandStats stats : statsRepository.findAll()) {
+            loaded.put(stats.getProductId(), new Counter(stats.getUnitsPerDay(), stats.getOrdersPerDay(),
+                    stats.getAsOf().toEpochMilli()));
+        }
+        if (loaded.isEmpty()) {
+            // First start, or orders loaded in bulk: an empty checkpoint does not mean zero demand.
+            // The rebuild can take a while, so it runs off the startup thread and the service
+            // stays not ready until it succeeds.
+            Thread rebuilder = new Thread(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    log.error("Initial demand statistics rebuild failed; staying not ready", ex);
+                }
+            }, "demand-stats-rebuild");
+            rebuilder.setDaemon(true);
+            rebuilder.start();
+            return;
+        }
+        counters = loaded;
+        ready = true;
+        log.info("Loaded demand statistics for {} products", loaded.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.demand.checkpoint-interval-ms:60000}",
+            initialDelayString = "${app.demand.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        List<ProductDemandStats> dirty = snapshotRows(counters, true);
+        if (!dirty.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> statsRepository.saveAll(dirty));
+        }
+    }
+
+    /**
+     * Recomputes all rates with a single streaming pass over recent order lines and
+     * replaces the in-memory state and checkpoint table; the service is ready once a
+     * rebuild has succeeded.
+     */
+    public synchronized int rebuild() {
+        Map<Long, Counter> rebuilt = new ConcurrentHashMap<>();
+        Instant since = Instant.now().minus(rebuildWindow);
+        int[] lines = {0};
+        boolean completed = false;
+        synchronized (rebuildLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<OrderItemEventView> events = orderItemRepository.streamItemEventsSince(since)) {
+                    events.forEach(event -> {
+                        rebuilt.computeIfAbsent(event.getProductId(), id -> new Counter())
+                                .add(event.getQuantity(), event.getCreatedAt().toEpochMilli(), tauDays);
+                        lines[0]++;
+                    });
+                }
+            });
+            completed = true;
+        } finally {
+            synchronized (rebuildLock) {
+                Map<Long, Counter> target = completed ? rebuilt : counters;
+                for (Pending line : pending) {
+                    target.computeIfAbsent(line.productId(), id -> new Counter())
+                            .add(line.units(), line.atMillis(), tauDays);
+                }
+                counters = target;
+                pending = null;
+            }
+        }
+        List<ProductDemandStats> rows = snapshotRows(rebuilt, false);
+        transactionTemplate.executeWithoutResult(status -> {
+            statsRepository.deleteAllInBatch();
+            statsRepository.saveAll(rows);
+        });
+        ready = true;
+        log.info("Rebuilt demand statistics from {} order lines across {} products", lines[0], rebuilt.size());
+        return lines[0];
+    }
+
+    private List<ProductDemandStats> snapshotRows(Map<Long, Counter> source, boolean dirtyOnly) {
+        long now = System.currentTimeMillis();
+        List<ProductDemandStats> rows = new ArrayList<>();
+        source.forEach((productId, counter) -> {
+            if (counter.clearDirty() || !dirtyOnly) {
+                Snapshot snapshot = counter.snapshot(productId, now, tauDays);
+                rows.add(new ProductDemandStats(productId, snapshot.unitsPerDay(), snapshot.ordersPerDay(),
+                        Instant.ofEpochMilli(now)));
+            }
+        });
+        return rows;
+    }
+
+    private record Pending(Long productId, int units, long atMillis) {}
+
+    public record Snapshot(Long productId, double unitsPerDay, double ordersPerDay) {}
+
+    /**
+     * Decayed event rates: each event adds {@code weight / tau} and the sum decays by
+     * {@code e^(-dt/tau)}. Out-of-order events are decayed to the current reference time
+     * instead, so replay does not need to be sorted.
+     */
+    private static final class Counter {
+        private double unitsRate;
+        private double ordersRate;
+        private long referenceMillis;
+        private boolean dirty;
+
+        Counter() {}
+
+        Counter(double unitsRate, double ordersRate, long referenceMillis) {
+            this.unitsRate = unitsRate;
+            this.ordersRate = ordersRate;
+            this.referenceMillis = referenceMillis;
+        }
+
+        synchronized void add(int units, long atMillis, double tauDays) {
+            double weight = 1 / tauDays;
+            if (atMillis >= referenceMillis) {
+                double decay = Math.exp(-(atMillis - referenceMillis) / MILLIS_PER_DAY / tauDays);
+                unitsRate *= decay;
+                ordersRate *= decay;
+                referenceMillis = atMillis;
+            } else {
+                weight *= Math.exp(-(referenceMillis - atMillis) / MILLIS_PER_DAY / tauDays);
+            }
+            unitsRate += units * weight;
+            ordersRate += weight;
+            dirty = true;
+        }
+
+        synchronized Snapshot snapshot(Long productId, long nowMillis, double tauDays) {
+            double decay = nowMillis > referenceMillis
+                    ? Math.exp(-(nowMillis - referenceMillis) / MILLIS_PER_DAY / tauDays)
+                    : 1;
+            return new Snapshot(productId, unitsRate * decay, ordersRate * decay);
+        }
+
+        synchronized boolean clearDirty() {
+            boolean wasDirty = dirty;
+            dirty = false;
+            return wasDirty;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.Client;
+import com.steel.backend.model.Product;
+import com.steel.backend.model.Supplier;
+import com.steel.backend.repository.ClientRepository;
+import com.steel.backend.repository.ProductRepository;
+import com.steel.backend.repository.SupplierRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Optional;
+
+/**
+ * Single-flight lookups by id for read paths. The leader loads inside its own read-only
+ * transaction with the associations fetched and shares a plain copy that is not attached
+ * to any persistence context; every caller then gets its own copy of that, so nothing
+ * one request does to the result is seen by another. Callers that write must load the
+ * entity through the repositories on their own EntityManager.
+ */
+@Service
+public class EntityLoader {
+    private final ProductRepository productRepository;
+    private final ClientRepository clientRepository;
+    private final SupplierRepository supplierRepository;
+    private final TransactionTemplate readOnly;
+    private final SingleFlight<Long, Optional<Product>> products;
+    private final SingleFlight<Long, Optional<Client>> clients;
+    private final SingleFlight<Long, Optional<Supplier>> suppliers;
+
+    public EntityLoader(ProductRepository productRepository,
+                        ClientRepository clientRepository,
+                        SupplierRepository supplierRepository,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.clientRepository = clientRepository;
+        this.supplierRepository = supplierRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.products = new SingleFlight<>("product", meterRegistry);
+        this.clients = new SingleFlight<>("client", meterRegistry);
+        this.suppliers = new SingleFlight<>("supplier", meterRegistry);
+    }
+
+    public Optional<Product> product(Long id) {
+        return products.load(id, key -> readOnly.execute(status ->
+                        productRepository.findWithSupplierById(key).map(EntityLoader::copy)))
+                .map(EntityLoader::copy);
+    }
+
+    public Optional<Client> client(Long id) {
+        return clients.load(id, key -> readOnly.execute(status ->
+                        clientRepository.findById(key).map(EntityLoader::copy)))
+                .map(EntityLoader::copy);
+    }
+
+    public Optional<Supplier> supplier(Long id) {
+        return suppliers.load(id, key -> readOnly.execute(status ->
+                        supplierRepository.findWithProductsById(key).map(EntityLoader::copy)))
+                .map(EntityLoader::copy);
+    }
+
+    private static Product copy(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .category(product.getCategory())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .quantityInStock(product.getQuantityInStock())
+                .stockShards(product.getStockShards())
+                .supplier(product.getSupplier() == null ? null : copy(product.getSupplier()))
+                .build();
+    }
+
+    private static Client copy(Client client) {
+        return Client.builder()
+                .id(client.getId())
+                .name(client.getName())
+                .contactInfo(client.getContactInfo())
+                .country(client.getCountry())
+                .businessType(client.getBusinessType())
+                .build();
+    }
+
+    private static Supplier copy(Supplier supplier) {
+        return Supplier.builder()
+                .id(supplier.getId())
+                .name(supplier.getName())
+                .contactInfo(supplier.getContactInfo())
+                .suppliedProducts(supplier.getSuppliedProducts() == null ? null
+                        : new HashSet<>(supplier.getSuppliedProducts()))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.steel.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class ExchangeRateService {
+    private static final Logger log = LoggerFactory.getLogger(ExchangeRateService.class);
+    private static final Map<String, Currency> CURRENCY_BY_COUNTRY = buildCountryIndex();
+
+    private final ResourceLoader resourceLoader;
+    private final AtomicReference<RateTable> table = new AtomicReference<>();
+
+    @Value("${app.currency.base:USD}")
+    private String baseCurrency;
+
+    @Value("${app.currency.rates-location:classpath:currency-rates.properties}")
+    private String ratesLocation;
+
+    public ExchangeRateService(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        table.set(load());
+    }
+
+    @Scheduled(fixedDelayString = "${app.currency.reload-interval-ms:300000}",
+            initialDelayString = "${app.currency.reload-interval-ms:300000}")
+    public void reload() {
+        try {
+            table.set(load());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Keeping previous exchange rates, reload from {} failed: {}", ratesLocation, ex.getMessage());
+        }
+    }
+
+    public RateTable current() {
+        return table.get();
+    }
+
+    /**
+     * An explicitly requested currency must have a rate. A currency derived from the
+     * client's country falls back to the base currency, which the returned rate names.
+     */
+    public RateTable.Rate rateFor(String currencyCode, String country) {
+        if (currencyCode != null) {
+            return current().rate(Currency.getInstance(currencyCode.trim().toUpperCase(Locale.ROOT)));
+        }
+        return current().rateOrBase(currencyForCountry(country));
+    }
+
+    public Currency currencyForCountry(String country) {
+        Currency base = current().base();
+        if (country == null) return base;
+        return CURRENCY_BY_COUNTRY.getOrDefault(country.trim().toLowerCase(Locale.ROOT), base);
+    }
+
+    private RateTable load() throws IOException {
+        Resource resource = resourceLoader.getResource(ratesLocation);
+        Properties props = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            props.load(in);
+        }
+        Currency base = Currency.getInstance(baseCurrency);
+        Map<String, RateTable.Rate> rates = new HashMap<>();
+        rates.put(base.getCurrencyCode(), new RateTable.Rate(base, BigDecimal.ONE));
+        for (String code : props.stringPropertyNames()) {
+            Currency currency = Currency.getInstance(code.trim().toUpperCase(Locale.ROOT));
+            BigDecimal factor = new BigDecimal(props.getProperty(code).trim());
+            if (factor.signum() <= 0) {
+                throw new IllegalArgumentException("Exchange rate for " + code + " must be positive");
+            }
+            rates.put(currency.getCurrencyCode(), new RateTable.Rate(currency, factor));
+        }
+        return new RateTable(base, rates);
+    }
+
+    private static Map<String, Currency> buildCountryIndex() {
+        Map<String, Currency> index = new HashMap<>();
+        for (String iso : Locale.getISOCountries()) {
+            Locale locale = new Locale("", iso);
+            try {
+                Currency currency = Currency.getInstance(locale);
+                if (currency == null) continue;
+                index.put(iso.toLowerCase(Locale.ROOT), currency);
+                index.put(locale.getDisplayCountry(Locale.ENGLISH).toLowerCase(Locale.ROOT), currency);
+            } catch (IllegalArgumentException ignored) {
+                // Territories without an ISO 4217 currency
+            }
+        }
+        return Map.copyOf(index);
+    }
+}
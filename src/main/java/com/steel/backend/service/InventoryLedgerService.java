@@ -0,0 +1,287 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.LedgerCheckpoint;
+import com.steel.backend.model.LedgerCheckpointStock;
+import com.steel.backend.repository.LedgerCheckpointRepository;
+import com.steel.backend.repository.LedgerCheckpointStockRepository;
+import com.steel.backend.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every stock movement in a {@link LedgerJournal} so stock levels can be
+ * rebuilt (or audited) without touching order history. Periodic checkpoints store the
+ * replayed levels in {@code ledger_checkpoint_stock}; a replay then only reads the
+ * journal records written after the latest checkpoint. Checkpoints are keyed by the
+ * journal's id, so every node (and every fresh journal directory) replays against its own
+ * checkpoints and its own sequence numbers. Replayed segments are archived and kept for
+ * {@code app.ledger.retention}.
+ */
+@Service
+public class InventoryLedgerService {
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedgerService.class);
+
+    private final LedgerJournal journal;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final LedgerCheckpointStockRepository checkpointStockRepository;
+    private final ProductRepository productRepository;
+    private final StockShardService stockShardService;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer appendTimer;
+    private final Timer replayTimer;
+    private final NavigableSet<Long> pending = new TreeSet<>();
+
+    @Value("${app.ledger.retention:P365D}")
+    private Duration retention;
+
+    public InventoryLedgerService(LedgerCheckpointRepository checkpointRepository,
+                                  LedgerCheckpointStockRepository checkpointStockRepository,
+                                  ProductRepository productRepository,
+                                  StockShardService stockShardService,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.ledger.dir:./data/ledger}") Path directory,
+                                  @Value("${app.ledger.segment-size-bytes:67108864}") int segmentBytes) throws IOException {
+        this.journal = new LedgerJournal(directory, segmentBytes);
+        this.checkpointRepository = checkpointRepository;
+        this.checkpointStockRepository = checkpointStockRepository;
+        this.productRepository = productRepository;
+        this.stockShardService = stockShardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appendTimer = meterRegistry.timer("inventory.ledger.append");
+        this.replayTimer = meterRegistry.timer("inventory.ledger.replay");
+        meterRegistry.gauge("inventory.ledger.sequence", journal, LedgerJournal::lastSequence);
+    }
+
+    /**
+     * Resumes numbering after this journal's latest checkpoint, in case segments it
+     * covered were lost.
+     */
+    @PostConstruct
+    void resume() throws IOException {
+        Optional<LedgerCheckpoint> latest = checkpointRepository.findTopByJournalIdOrderByIdDesc(journal.id());
+        if (latest.isPresent() && latest.get().getSequence() > journal.lastSequence()) {
+            log.warn("Ledger journal {} is behind its checkpoint at sequence {}; continuing from there",
+                    journal.id(), latest.get().getSequence());
+            journal.startAfter(latest.get().getSequence());
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Journals a relative stock change as the surrounding transaction commits. The caller
+     * must already hold the row lock its stock update took (the product row, or the shard
+     * it decremented), so movements of one product reach the journal in commit order.
+     */
+    public void recordDelta(Long productId, int delta) {
+        beforeCommit(productId, LedgerJournal.TYPE_DELTA, delta);
+    }
+
+    /**
+     * Journals an absolute stock level as the surrounding transaction commits. Locks the
+     * product row first, so concurrent deltas on an unsharded product are journalled
+     * either wholly before or wholly after this level.
+     */
+    public void recordSet(Long productId, int quantity) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            productRepository.lockById(productId);
+        }
+        beforeCommit(productId, LedgerJournal.TYPE_SET, quantity);
+    }
+
+    /**
+     * Appends while the transaction's row locks are still held, so a later transaction on
+     * the same product cannot journal ahead of it, and voids the record again if the
+     * transaction does not commit. Appended records stay pending until then and are left
+     * out of checkpoints.
+     */
+    private void beforeCommit(Long productId, byte type, int value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(productId, type, value);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long sequence;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                synchronized (pending) {
+                    sequence = append(productId, type, value);
+                    pending.add(sequence);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (sequence == 0) return;
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        journal.cancel(sequence);
+                        log.warn("Voided ledger record {} for product {}: transaction did not commit",
+                                sequence, productId);
+                    }
+                } finally {
+                    synchronized (pending) {
+                        pending.remove(sequence);
+                    }
+                }
+            }
+        });
+    }
+
+    private long append(Long productId, byte type, int value) {
+        long start = System.nanoTime();
+        long sequence = journal.append(productId, type, value, System.currentTimeMillis());
+        appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return sequence;
+    }
+
+    /**
+     * Highest sequence below every record whose transaction is still in flight.
+     */
+    private long settledSequence() {
+        synchronized (pending) {
+            return pending.isEmpty() ? journal.lastSequence() : pending.first() - 1;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        journal.force();
+    }
+
+    /**
+     * Takes a baseline checkpoint from the products table the first time this journal runs,
+     * so later replays have a starting point that predates the journal.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureBaseline() {
+        if (checkpointRepository.findTopByJournalIdOrderByIdDesc(journal.id()).isPresent()) return;
+        Map<Long, Long> levels = new HashMap<>();
+        for (Object[] row : productRepository.findAllStockLevels()) {
+            levels.put((Long) row[0], ((Integer) row[1]).longValue());
+        }
+        levels.replaceAll((productId, quantity) ->
+                stockShardService.isSharded(productId) ? stockShardService.available(productId) : quantity);
+        LedgerCheckpoint checkpoint = saveCheckpoint(settledSequence(), levels);
+        log.info("Created baseline ledger checkpoint {} for {} products", checkpoint.getId(), levels.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.checkpoint-interval-ms:300000}",
+            initialDelayString = "${app.ledger.checkpoint-interval-ms:300000}")
+    public synchronized void checkpoint() {
+        LedgerCheckpoint latest = checkpointRepository.findTopByJournalIdOrderByIdDesc(journal.id()).orElse(null);
+        long settled = settledSequence();
+        if (latest == null || latest.getSequence() >= settled) return;
+        Replay replay = replayFrom(latest, settled);
+        LedgerCheckpoint checkpoint = saveCheckpoint(replay.sequence(), replay.quantities());
+        try {
+            int archived = journal.archiveSegmentsUpTo(checkpoint.getSequence());
+            int expired = journal.deleteArchivedBefore(Instant.now().minus(retention));
+            log.info("Ledger checkpoint {} at sequence {} ({} records replayed, {} segments archived, {} expired)",
+                    checkpoint.getId(), checkpoint.getSequence(), replay.records(), archived, expired);
+        } catch (IOException ex) {
+            log.warn("Could not archive replayed ledger segments", ex);
+        }
+    }
+
+    /**
+     * Rebuilds stock levels from the latest checkpoint plus the journal and compares
+     * them with the live stock of every product.
+     */
+    public ReplayReport replay() {
+        LedgerCheckpoint latest = checkpointRepository.findTopByJournalIdOrderByIdDesc(journal.id())
+                .orElseThrow(() -> new IllegalStateException("No ledger checkpoint yet"));
+        Replay replay = replayFrom(latest, settledSequence());
+
+        List<Mismatch> mismatches = new ArrayList<>();
+        for (Object[] row : productRepository.findAllStockLevels()) {
+            Long productId = (Long) row[0];
+            long actual = stockShardService.isSharded(productId)
+                    ? stockShardService.available(productId)
+                    : ((Integer) row[1]).longValue();
+            Long expected = replay.quantities().get(productId);
+            if (expected == null || expected != actual) {
+                mismatches.add(new Mismatch(productId, expected, actual));
+            }
+        }
+        return new ReplayReport(journal.id(), latest.getId(), latest.getSequence(), replay.sequence(), replay.records(),
+                replay.elapsedMillis(), replay.quantities().size(), mismatches);
+    }
+
+    private Replay replayFrom(LedgerCheckpoint checkpoint, long upTo) {
+        long start = System.nanoTime();
+        Map<Long, Long> quantities = new HashMap<>();
+        for (Object[] row : checkpointStockRepository.findQuantities(checkpoint.getId())) {
+            quantities.put((Long) row[0], (Long) row[1]);
+        }
+        long[] last = {checkpoint.getSequence()};
+        long[] records = {0};
+        try {
+            journal.replay(checkpoint.getSequence(), (sequence, epochMillis, productId, type, value) -> {
+                if (sequence > upTo) return;
+                if (type == LedgerJournal.TYPE_SET) {
+                    quantities.put(productId, (long) value);
+                } else if (type == LedgerJournal.TYPE_DELTA) {
+                    quantities.merge(productId, (long) value, Long::sum);
+                }
+                last[0] = sequence;
+                records[0]++;
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not replay inventory ledger", ex);
+        }
+        long elapsed = System.nanoTime() - start;
+        replayTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        return new Replay(last[0], records[0], elapsed / 1_000_000, quantities);
+    }
+
+    private LedgerCheckpoint saveCheckpoint(long sequence, Map<Long, Long> quantities) {
+        return transactionTemplate.execute(status -> {
+            LedgerCheckpoint checkpoint = checkpointRepository.save(
+                    LedgerCheckpoint.builder().journalId(journal.id()).sequence(sequence).createdAt(Instant.now()).build());
+            List<LedgerCheckpointStock> rows = new ArrayList<>(quantities.size());
+            quantities.forEach((productId, quantity) ->
+                    rows.add(new LedgerCheckpointStock(checkpoint.getId(), productId, quantity)));
+            checkpointStockRepository.saveAll(rows);
+            checkpointStockRepository.deleteOlderThan(journal.id(), checkpoint.getId());
+            return checkpoint;
+        });
+    }
+
+    private record Replay(long sequence, long records, long elapsedMillis, Map<Long, Long> quantities) {
+    }
+
+    public record Mismatch(Long productId, Long ledgerQuantity, long actualQuantity) {
+    }
+
+    public record ReplayReport(String journalId, Long checkpointId, long checkpointSequence, long replayedToSequence,
+                               long recordsReplayed, long elapsedMillis, int products,
+                               List<Mismatch> mismatches) {
+    }
+}
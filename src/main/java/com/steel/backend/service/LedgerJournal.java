@@ -0,0 +1,281 @@
+package com.steel.backend.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of fixed-size stock movement records in memory-mapped segment
+ * files. Appends are a handful of buffer writes under a lock; segments roll over when
+ * full and are named after their first sequence number so replay can skip whole files.
+ *
+ * <p>Each journal directory carries an id in {@value #ID_FILE}, created with the first
+ * segment, so checkpoints stored elsewhere can be matched to the journal they came from.
+ * Replayed segments are moved to {@code archive/} rather than deleted.
+ *
+ * <p>Record layout (32 bytes, little endian): sequence, epoch millis, product id,
+ * value (int), type (byte), 3 bytes padding. A zero sequence marks unused space; a
+ * {@link #TYPE_VOID} record was cancelled after it was written and carries no movement.
+ */
+public final class LedgerJournal implements Closeable {
+    public static final byte TYPE_DELTA = 1;
+    public static final byte TYPE_SET = 2;
+    public static final byte TYPE_VOID = 3;
+
+    static final int RECORD_SIZE = 32;
+    private static final String SUFFIX = ".seg";
+    private static final String ID_FILE = "journal.id";
+    private static final String ARCHIVE = "archive";
+
+    private final Path directory;
+    private final String id;
+    private final int recordsPerSegment;
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentFirstSequence;
+    private long nextSequence;
+
+    public LedgerJournal(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.recordsPerSegment = Math.max(1, segmentBytes / RECORD_SIZE);
+        Files.createDirectories(directory);
+        Path idFile = directory.resolve(ID_FILE);
+        if (!Files.exists(idFile)) {
+            Files.writeString(idFile, UUID.randomUUID().toString(), StandardOpenOption.CREATE_NEW);
+        }
+        this.id = Files.readString(idFile).trim();
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            openSegment(1);
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            openSegment(firstSequenceOf(last));
+            int used = 0;
+            while (used < recordsPerSegment && segment.getLong(used * RECORD_SIZE) != 0) used++;
+            segment.position(used * RECORD_SIZE);
+            nextSequence = segmentFirstSequence + used;
+        }
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Moves the journal past {@code sequence} if it is still behind it, e.g. when segments
+     * were lost but a checkpoint of this journal at that sequence exists, so new records
+     * are not mistaken for ones the checkpoint already covers.
+     */
+    public void startAfter(long sequence) throws IOException {
+        lock.lock();
+        try {
+            if (nextSequence > sequence) return;
+            segment.force();
+            channel.close();
+            nextSequence = sequence + 1;
+            openSegment(nextSequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record and returns its sequence number.
+     */
+    public long append(long productId, byte type, int value, long epochMillis) {
+        lock.lock();
+        try {
+            if (!segment.hasRemaining()) {
+                roll();
+            }
+            long sequence = nextSequence++;
+            int at = segment.position();
+            segment.putLong(at + 8, epochMillis)
+                    .putLong(at + 16, productId)
+                    .putInt(at + 24, value)
+                    .put(at + 28, type);
+            // Sequence last: a record is only visible to replay once it is complete.
+            segment.putLong(at, sequence);
+            segment.position(at + RECORD_SIZE);
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks an appended record as void by rewriting its type in place. Does nothing if
+     * the record's segment has already been deleted.
+     */
+    public void cancel(long sequence) {
+        lock.lock();
+        try {
+            if (sequence >= segmentFirstSequence) {
+                segment.put((int) (sequence - segmentFirstSequence) * RECORD_SIZE + 28, TYPE_VOID);
+                return;
+            }
+            Path file = null;
+            for (Path candidate : segments()) {
+                if (firstSequenceOf(candidate) > sequence) break;
+                file = candidate;
+            }
+            if (file == null) return;
+            try (FileChannel old = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                old.write(ByteBuffer.wrap(new byte[]{TYPE_VOID}),
+                        (sequence - firstSequenceOf(file)) * RECORD_SIZE + 28);
+            }
+        } catch (NoSuchFileException ex) {
+            // Deleted by a checkpoint in the meantime.
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not cancel ledger record " + sequence, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes dirty pages of the active segment to disk.
+     */
+    public void force() {
+        lock.lock();
+        try {
+            segment.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Streams every record with a sequence greater than {@code afterSequence} to the visitor,
+     * in sequence order, reading segments through read-only mappings.
+     */
+    public long replay(long afterSequence, RecordVisitor visitor) throws IOException {
+        List<Path> segments = segments();
+        long visited = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+            try (FileChannel readChannel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                for (int at = 0; at + RECORD_SIZE <= buffer.limit(); at += RECORD_SIZE) {
+                    long sequence = buffer.getLong(at);
+                    if (sequence == 0) break;
+                    if (sequence <= afterSequence) continue;
+                    visitor.visit(sequence, buffer.getLong(at + 8), buffer.getLong(at + 16),
+                            buffer.get(at + 28), buffer.getInt(at + 24));
+                    visited++;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Moves whole segments whose records are all at or below {@code sequence} to the
+     * archive directory, where replay no longer reads them.
+     */
+    public int archiveSegmentsUpTo(long sequence) throws IOException {
+        List<Path> segments = segments();
+        Path archive = Files.createDirectories(directory.resolve(ARCHIVE));
+        int archived = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequenceOf(segments.get(i + 1)) - 1 <= sequence) {
+                Files.move(segments.get(i), archive.resolve(segments.get(i).getFileName()),
+                        StandardCopyOption.REPLACE_EXISTING);
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Deletes archived segments last written before {@code cutoff}.
+     */
+    public int deleteArchivedBefore(Instant cutoff) throws IOException {
+        Path archive = directory.resolve(ARCHIVE);
+        if (!Files.isDirectory(archive)) return 0;
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(archive)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            segment.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() {
+        try {
+            segment.force();
+            channel.close();
+            openSegment(nextSequence);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not roll ledger segment", ex);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("ledger-%020d%s", firstSequence, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segmentFirstSequence = firstSequence;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList());
+            return segments;
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring("ledger-".length(), name.length() - SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long sequence, long epochMillis, long productId, byte type, int value);
+    }
+}
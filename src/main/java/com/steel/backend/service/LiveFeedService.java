@@ -0,0 +1,227 @@
+package com.steel.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes stock and order-status changes to SSE subscribers. Changes are coalesced per
+ * entity for {@code app.live-feed.coalesce-window-ms} and then handed to each
+ * subscriber's bounded buffer; a small sender pool does the (possibly slow) writes, so
+ * publishers never block on a consumer. A subscriber whose buffer overflows gets a
+ * single {@code resync} event and should refetch.
+ * <p>
+ * Flushing has its own scheduler thread rather than Spring's shared one: it runs every
+ * window and looks up live stock, so it must not queue behind (or hold up) the hourly
+ * rebuilds and checkpoints scheduled there.
+ */
+@Service
+public class LiveFeedService {
+    private static final Logger log = LoggerFactory.getLogger(LiveFeedService.class);
+    public static final String TOPIC_STOCK = "stock";
+    public static final String TOPIC_ORDERS = "orders";
+
+    private final StockShardService stockShardService;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService flusher;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter overflows;
+    private Map<String, FeedEvent> pending = new HashMap<>();
+
+    @Value("${app.live-feed.buffer-size:512}")
+    private int bufferSize;
+
+    @Value("${app.live-feed.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    public LiveFeedService(StockShardService stockShardService,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.live-feed.sender-threads:4}") int senderThreads,
+                           @Value("${app.live-feed.coalesce-window-ms:250}") long coalesceWindowMs) {
+        this.stockShardService = stockShardService;
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-feed-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-feed-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushSafely, coalesceWindowMs, coalesceWindowMs,
+                TimeUnit.MILLISECONDS);
+        this.overflows = meterRegistry.counter("live.feed.overflows");
+        meterRegistry.gaugeCollectionSize("live.feed.subscribers", List.of(), subscribers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    public SseEmitter subscribe(Set<String> topics) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, topics, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        publish(new FeedEvent(TOPIC_STOCK, "product:" + event.productId(), event.productId(),
+                event.quantityInStock(), null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        publish(new FeedEvent(TOPIC_ORDERS, "order:" + event.orderId(), event.orderId(), null,
+                event.status().name()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusesChanged(OrderStatusesChangedEvent event) {
+        if (subscribers.isEmpty()) return;
+        String status = event.status().name();
+        synchronized (this) {
+            for (Long orderId : event.orderIds()) {
+                pending.put("order:" + orderId, new FeedEvent(TOPIC_ORDERS, "order:" + orderId, orderId, null, status));
+            }
+        }
+    }
+
+    private void publish(FeedEvent event) {
+        if (subscribers.isEmpty()) return;
+        synchronized (this) {
+            pending.put(event.key(), event);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // A failed run must not cancel the schedule; the events are dropped and
+            // subscribers catch up on the next change.
+            log.warn("Live feed flush failed", ex);
+        }
+    }
+
+    public void flush() {
+        Map<String, FeedEvent> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        List<FeedEvent> events = new ArrayList<>(batch.size());
+        for (FeedEvent event : batch.values()) {
+            if (TOPIC_STOCK.equals(event.topic()) && event.quantityInStock() == null) {
+                event = event.withQuantity(stockShardService.available(event.id()));
+            }
+            events.add(event);
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(events)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                List<Object> batch;
+                while (!(batch = subscriber.takeAll()).isEmpty()) {
+                    for (Object item : batch) {
+                        if (item instanceof FeedEvent event) {
+                            subscriber.emitter.send(SseEmitter.event().name(event.topic()).id(event.key()).data(event));
+                        } else {
+                            overflows.increment();
+                            subscriber.emitter.send(SseEmitter.event().name("resync").data(Map.of()));
+                        }
+                    }
+                }
+                subscriber.draining.set(false);
+                // Re-check: events may have been buffered between the last takeAll and the reset.
+            } while (subscriber.hasPending() && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException ex) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(ex);
+        }
+    }
+
+    public record FeedEvent(String topic, String key, Long id, Integer quantityInStock, String status) {
+        FeedEvent withQuantity(int quantity) {
+            return new FeedEvent(topic, key, id, quantity, status);
+        }
+    }
+
+    private static final class Subscriber {
+        private static final Object RESYNC = new Object();
+
+        final SseEmitter emitter;
+        final Set<String> topics;
+        final int capacity;
+        final LinkedHashMap<String, Object> buffer = new LinkedHashMap<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<String> topics, int capacity) {
+            this.emitter = emitter;
+            this.topics = topics;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Buffers the events this subscriber wants. Returns true when the caller should
+         * schedule a drain.
+         */
+        boolean offer(List<FeedEvent> events) {
+            synchronized (buffer) {
+                for (FeedEvent event : events) {
+                    if (!topics.contains(event.topic())) continue;
+                    if (buffer.containsKey("resync")) break;
+                    buffer.remove(event.key());
+                    if (buffer.size() >= capacity) {
+                        buffer.clear();
+                        buffer.put("resync", RESYNC);
+                        break;
+                    }
+                    buffer.put(event.key(), event);
+                }
+                if (buffer.isEmpty()) return false;
+            }
+            return draining.compareAndSet(false, true);
+        }
+
+        List<Object> takeAll() {
+            synchronized (buffer) {
+                List<Object> items = new ArrayList<>(buffer.values());
+                buffer.clear();
+                return items;
+            }
+        }
+
+        boolean hasPending() {
+            synchronized (buffer) {
+                return !buffer.isEmpty();
+            }
+        }
+    }
+}
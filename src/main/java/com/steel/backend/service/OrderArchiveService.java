@@ -0,0 +1,174 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.*;
+import com.steel.backend.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves delivered orders older than {@code app.archive.min-age} out of the hot
+ * {@code orders}/{@code order_items} tables into their archive copies, one bounded
+ * batch per transaction.
+ */
+@Service
+public class OrderArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final ClientRepository clientRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter archivedOrders;
+    private final Counter archivedItems;
+    private final Timer batchTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.min-age:P90D}")
+    private Duration minAge;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    public OrderArchiveService(OrderRepository orderRepository,
+                               ArchivedOrderRepository archivedOrderRepository,
+                               ArchivedOrderItemRepository archivedOrderItemRepository,
+                               ClientRepository clientRepository,
+                               ProductRepository productRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.archivedOrderItemRepository = archivedOrderItemRepository;
+        this.clientRepository = clientRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedOrders = meterRegistry.counter("orders.archive.orders");
+        this.archivedItems = meterRegistry.counter("orders.archive.items");
+        this.batchTimer = meterRegistry.timer("orders.archive.batch");
+        meterRegistry.gauge("orders.archive.lag.seconds", lagSeconds);
+        meterRegistry.gauge("orders.archive.backlog", backlog);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:600000}",
+            initialDelayString = "${app.archive.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        if (enabled) {
+            runOnce();
+        }
+    }
+
+    public int runOnce() {
+        Instant cutoff = Instant.now().minus(minAge);
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int moved = batchTimer.record(() -> archiveBatch(cutoff));
+            total += moved;
+            if (moved < batchSize) break;
+        }
+        updateLag(cutoff);
+        if (total > 0) {
+            log.info("Archived {} delivered orders older than {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = orderRepository.lockIdsByStatusUpdatedBefore(
+                    OrderStatus.DELIVERED.name(), cutoff, batchSize);
+            if (ids.isEmpty()) return 0;
+            int copied = archivedOrderRepository.copyOrders(ids, OrderStatus.DELIVERED.name(), Instant.now());
+            if (copied != ids.size()) {
+                // Locked rows cannot change status, so a mismatch means the batch is unsafe to delete.
+                throw new IllegalStateException("Archived " + copied + " of " + ids.size() + " locked orders");
+            }
+            int items = archivedOrderRepository.copyOrderItems(ids);
+            archivedOrderRepository.deleteOrderItems(ids);
+            archivedOrderRepository.deleteOrders(ids);
+            archivedItems.increment(items);
+            archivedOrders.increment(ids.size());
+            return ids.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    private void updateLag(Instant cutoff) {
+        backlog.set(orderRepository.countByStatusUpdatedBefore(OrderStatus.DELIVERED, cutoff));
+        if (orderRepository.existsByStatusAndUpdatedAtIsNull(OrderStatus.DELIVERED)) {
+            // Orders from before updated_at existed have no age; report them as one full
+            // min-age overdue rather than hiding them.
+            lagSeconds.set(minAge.getSeconds());
+            return;
+        }
+        Instant oldest = orderRepository.findOldestUpdatedAtByStatus(OrderStatus.DELIVERED);
+        lagSeconds.set(oldest == null || !oldest.isBefore(cutoff)
+                ? 0
+                : Duration.between(oldest, cutoff).getSeconds());
+    }
+
+    /**
+     * The archived order's own row, without items, for field projections.
+     */
+    public Optional<ArchivedOrder> findArchivedRow(Long id) {
+        return archivedOrderRepository.findById(id);
+    }
+
+    public Optional<Order> findArchived(Long id) {
+        return archivedOrderRepository.findById(id).map(archived -> {
+            List<ArchivedOrderItem> items = archivedOrderItemRepository.findByOrderId(id);
+            Map<Long, Product> products = productRepository.findAllById(items.stream()
+                            .map(ArchivedOrderItem::getProductId)
+                            .collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            Order order = Order.builder()
+                    .id(archived.getId())
+                    .client(archived.getClientId() == null ? null
+                            : clientRepository.findById(archived.getClientId()).orElse(null))
+                    .totalPrice(archived.getTotalPrice())
+                    .status(archived.getStatus())
+                    .createdAt(archived.getCreatedAt())
+                    .updatedAt(archived.getUpdatedAt())
+                    .items(new ArrayList<>())
+                    .build();
+            for (ArchivedOrderItem archivedItem : items) {
+                order.getItems().add(OrderItem.builder()
+                        .id(archivedItem.getId())
+                        .product(products.get(archivedItem.getProductId()))
+                        .quantity(archivedItem.getQuantity())
+                        .price(archivedItem.getPrice())
+                        .build());
+            }
+            return order;
+        });
+    }
+}
@@ -0,0 +1,271 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.*;
+import com.steel.backend.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * Renders invoices and packing lists as HTML files in {@code app.documents.dir}. Both are
+ * generated on a bounded pool as soon as an order ships, so back-office views are served
+ * straight from disk; a cache miss renders on the calling thread. A status change deletes
+ * the order's files, and renders still in flight at that moment re-render, so a race with
+ * the change never leaves a stale file behind.
+ */
+@Service
+public class OrderDocumentService {
+    private static final Logger log = LoggerFactory.getLogger(OrderDocumentService.class);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
+
+    public enum DocumentType {
+        INVOICE("invoice"),
+        PACKING_LIST("packing-list");
+
+        private final String slug;
+
+        DocumentType(String slug) {
+            this.slug = slug;
+        }
+
+        public String slug() {
+            return slug;
+        }
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final TransactionTemplate readTransaction;
+    private final Path directory;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, CompletableFuture<Optional<Path>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+    private final Timer renderTimer;
+
+    public OrderDocumentService(OrderRepository orderRepository,
+                                OrderArchiveService orderArchiveService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.documents.dir:./data/documents}") Path directory,
+                                @Value("${app.documents.threads:2}") int threads,
+                                @Value("${app.documents.queue-capacity:1000}") int queueCapacity) throws IOException {
+        this.orderRepository = orderRepository;
+        this.orderArchiveService = orderArchiveService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.directory = Files.createDirectories(directory);
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "order-documents");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.hits = meterRegistry.counter("orders.documents.cache", "result", "hit");
+        this.misses = meterRegistry.counter("orders.documents.cache", "result", "miss");
+        this.rejected = meterRegistry.counter("orders.documents.rejected");
+        this.renderTimer = meterRegistry.timer("orders.documents.render");
+        meterRegistry.gaugeCollectionSize("orders.documents.queue.size", List.of(), workers.getQueue());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Returns the cached document, rendering it first on a miss. Empty when the order
+     * does not exist.
+     */
+    public Optional<Path> document(Long orderId, DocumentType type) {
+        Path path = path(orderId, type);
+        if (Files.exists(path)) {
+            hits.increment();
+            return Optional.of(path);
+        }
+        misses.increment();
+        try {
+            return render(orderId, type).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering order document", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        changed(event.orderId(), event.status());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusesChanged(OrderStatusesChangedEvent event) {
+        event.orderIds().forEach(orderId -> changed(orderId, event.status()));
+    }
+
+    private void changed(Long orderId, OrderStatus status) {
+        invalidate(orderId);
+        if (status != OrderStatus.SHIPPED) return;
+        for (DocumentType type : DocumentType.values()) {
+            try {
+                workers.execute(() -> render(orderId, type).whenComplete((path, ex) -> {
+                    if (ex != null) log.warn("Could not render {} for order {}", type.slug(), orderId, ex);
+                }));
+            } catch (RejectedExecutionException ex) {
+                // The document is rendered on first view instead.
+                rejected.increment();
+            }
+        }
+    }
+
+    private void invalidate(Long orderId) {
+        if (rendering(orderId)) {
+            epochs.merge(orderId, 1L, Long::sum);
+        }
+        for (DocumentType type : DocumentType.values()) {
+            try {
+                Files.deleteIfExists(path(orderId, type));
+            } catch (IOException ex) {
+                log.warn("Could not delete cached {} for order {}", type.slug(), orderId, ex);
+            }
+        }
+    }
+
+    private CompletableFuture<Optional<Path>> render(Long orderId, DocumentType type) {
+        String key = orderId + ":" + type;
+        CompletableFuture<Optional<Path>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Path>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) return existing;
+        try {
+            mine.complete(renderTimer.record(() -> write(orderId, type)));
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+        } finally {
+            inFlight.remove(key, mine);
+            if (!rendering(orderId)) {
+                epochs.remove(orderId);
+            }
+        }
+        return mine;
+    }
+
+    private boolean rendering(Long orderId) {
+        for (DocumentType type : DocumentType.values()) {
+            if (inFlight.containsKey(orderId + ":" + type)) return true;
+        }
+        return false;
+    }
+
+    private Optional<Path> write(Long orderId, DocumentType type) {
+        long epoch = epochs.getOrDefault(orderId, 0L);
+        Optional<String> html = readTransaction.execute(status -> orderRepository.findWithDetailsById(orderId)
+                .or(() -> orderArchiveService.findArchived(orderId))
+                .map(order -> type == DocumentType.INVOICE ? invoice(order) : packingList(order)));
+        if (html == null || html.isEmpty()) return Optional.empty();
+
+        Path target = path(orderId, type);
+        try {
+            Path temp = Files.createTempFile(directory, "render-", ".tmp");
+            Files.writeString(temp, html.get(), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (epochs.getOrDefault(orderId, 0L) != epoch) {
+                // The order changed while rendering; do not cache what may be stale.
+                Files.deleteIfExists(target);
+                return write(orderId, type);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write " + type.slug() + " for order " + orderId, ex);
+        }
+        return Optional.of(target);
+    }
+
+    private Path path(Long orderId, DocumentType type) {
+        return directory.resolve("order-" + orderId + "-" + type.slug() + ".html");
+    }
+
+    private static String invoice(Order order) {
+        StringBuilder html = header("Invoice", order);
+        html.append("<table><thead><tr><th>Product</th><th>Quantity</th><th>Unit price</th><th>Amount</th></tr></thead><tbody>");
+        for (OrderItem item : order.getItems()) {
+            BigDecimal unitPrice = item.getQuantity() == 0 ? item.getPrice()
+                    : item.getPrice().divide(BigDecimal.valueOf(item.getQuantity()), 2, RoundingMode.HALF_UP);
+            html.append("<tr><td>").append(productName(item)).append("</td><td>").append(item.getQuantity())
+                    .append("</td><td>").append(unitPrice.toPlainString())
+                    .append("</td><td>").append(item.getPrice().toPlainString()).append("</td></tr>");
+        }
+        html.append("</tbody><tfoot><tr><td colspan=\"3\">Total</td><td>")
+                .append(order.getTotalPrice().toPlainString()).append("</td></tr></tfoot></table>");
+        return html.append("</body></html>").toString();
+    }
+
+    private static String packingList(Order order) {
+        StringBuilder html = header("Packing list", order);
+        html.append("<table><thead><tr><th>Product</th><th>Category</th><th>Quantity</th></tr></thead><tbody>");
+        int units = 0;
+        for (OrderItem item : order.getItems()) {
+            Product product = item.getProduct();
+            html.append("<tr><td>").append(productName(item)).append("</td><td>")
+                    .append(product == null ? "" : escape(product.getCategory())).append("</td><td>")
+                    .append(item.getQuantity()).append("</td></tr>");
+            units += item.getQuantity();
+        }
+        html.append("</tbody><tfoot><tr><td colspan=\"2\">Units</td><td>").append(units)
+                .append("</td></tr></tfoot></table>");
+        return html.append("</body></html>").toString();
+    }
+
+    private static StringBuilder header(String title, Order order) {
+        Client client = order.getClient();
+        StringBuilder html = new StringBuilder(4096)
+                .append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>").append(title).append(" #")
+                .append(order.getId()).append("</title><style>body{font-family:sans-serif}table{border-collapse:collapse;width:100%}")
+                .append("td,th{border:1px solid #999;padding:4px;text-align:left}</style></head><body>")
+                .append("<h1>").append(title).append(" #").append(order.getId()).append("</h1><p>");
+        if (order.getCreatedAt() != null) {
+            html.append("Order date: ").append(DATE.format(order.getCreatedAt())).append("<br>");
+        }
+        html.append("Status: ").append(order.getStatus()).append("</p>");
+        if (client != null) {
+            html.append("<p><strong>").append(escape(client.getName())).append("</strong><br>")
+                    .append(escape(client.getContactInfo())).append("<br>")
+                    .append(escape(client.getCountry())).append("</p>");
+        }
+        return html;
+    }
+
+    private static String productName(OrderItem item) {
+        Product product = item.getProduct();
+        return product == null ? "(removed product)" : escape(product.getName());
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : HtmlUtils.htmlEscape(value);
+    }
+}
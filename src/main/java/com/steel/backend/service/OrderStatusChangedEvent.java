@@ -0,0 +1,5 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.OrderStatus;
+
+public record OrderStatusChangedEvent(Long orderId, OrderStatus status) {}
@@ -0,0 +1,10 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Published once per committed chunk of a bulk status transition.
+ */
+public record OrderStatusesChangedEvent(List<Long> orderIds, OrderStatus status) {}
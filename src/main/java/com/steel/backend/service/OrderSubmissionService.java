@@ -0,0 +1,295 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.*;
+import com.steel.backend.repository.ClientRepository;
+import com.steel.backend.repository.OrderRepository;
+import com.steel.backend.repository.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts orders into a bounded queue and writes them with group commit: a single
+ * writer drains up to {@code app.orders.async.batch-size} submissions and persists them
+ * in one transaction. Stock is checked per submission inside the batch, so a shortfall
+ * rejects only that order. On shutdown the service stops accepting submissions and
+ * writes everything already queued before it lets go of the database.
+ */
+@Service
+public class OrderSubmissionService {
+    private static final Logger log = LoggerFactory.getLogger(OrderSubmissionService.class);
+
+    private final ClientRepository clientRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final DemandStatsService demandStatsService;
+    private final StockShardService stockShardService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Submission> queue;
+    private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+    private final DistributionSummary batchSizes;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    @Value("${app.orders.async.result-retention:PT1H}")
+    private Duration resultRetention;
+
+    @Value("${app.orders.async.shutdown-timeout:PT30S}")
+    private Duration shutdownTimeout;
+
+    public OrderSubmissionService(ClientRepository clientRepository,
+                                  ProductRepository productRepository,
+                                  OrderRepository orderRepository,
+                                  DemandStatsService demandStatsService,
+                                  StockShardService stockShardService,
+                                  InventoryLedgerService inventoryLedgerService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.orders.async.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${app.orders.async.batch-size:200}") int batchSize) {
+        this.clientRepository = clientRepository;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.demandStatsService = demandStatsService;
+        this.stockShardService = stockShardService;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.batchSizes = meterRegistry.summary("orders.submissions.batch.size");
+        meterRegistry.gaugeCollectionSize("orders.submissions.queue.size", List.of(), queue);
+        this.writer = new Thread(this::drainLoop, "order-group-commit");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        accepting = false;
+        running = false;
+        // The writer keeps going until the queue is empty; submissions that slipped in
+        // after it finished are written here.
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            log.error("Order writer did not finish within {}; {} accepted submissions were not written: {}",
+                    shutdownTimeout, queue.size(), queue.stream().map(s -> s.trackingId).toList());
+            return;
+        }
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Validates and enqueues an order. Returns empty when the queue is full or the service
+     * is shutting down.
+     */
+    public Optional<Result> submit(Long clientId, List<Line> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+        for (Line line : lines) {
+            if (line.productId() == null || line.quantity() <= 0) {
+                throw new IllegalArgumentException("Each item needs a productId and a positive quantity");
+            }
+        }
+        if (!clientRepository.existsById(clientId)) {
+            throw new IllegalArgumentException("Unknown client " + clientId);
+        }
+        if (!accepting) return Optional.empty();
+        Submission submission = new Submission(UUID.randomUUID().toString(), clientId, List.copyOf(lines));
+        submissions.put(submission.trackingId, submission);
+        if (!queue.offer(submission)) {
+            submissions.remove(submission.trackingId);
+            return Optional.empty();
+        }
+        return Optional.of(submission.result);
+    }
+
+    public Optional<Result> status(String trackingId) {
+        return Optional.ofNullable(submissions.get(trackingId)).map(s -> s.result);
+    }
+
+    public Optional<CompletableFuture<Result>> completion(String trackingId) {
+        return Optional.ofNullable(submissions.get(trackingId)).map(s -> s.completion);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.async.cleanup-interval-ms:60000}")
+    public void evictCompleted() {
+        Instant cutoff = Instant.now().minus(resultRetention);
+        submissions.values().removeIf(s -> s.result.completedAt() != null && s.result.completedAt().isBefore(cutoff));
+    }
+
+    private void drainLoop() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batchSizes.record(batch.size());
+                writeBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Group commit of {} orders failed", batch.size(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Submission> batch) {
+        try {
+            List<Runnable> completions = transactionTemplate.execute(status -> persist(batch));
+            completions.forEach(Runnable::run);
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).complete(Status.FAILED, null, null, ex.getMessage());
+                return;
+            }
+            log.warn("Group commit of {} orders failed, retrying individually: {}", batch.size(), ex.getMessage());
+            for (Submission submission : batch) {
+                writeBatch(List.of(submission));
+            }
+        }
+    }
+
+    private List<Runnable> persist(List<Submission> batch) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> clientIds = new HashSet<>();
+        for (Submission submission : batch) {
+            clientIds.add(submission.clientId);
+            submission.lines.forEach(line -> productIds.add(line.productId()));
+        }
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Client> clients = clientRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+
+        // Unsharded stock is taken with SQL, so the loaded entities do not see earlier lines.
+        Map<Long, Integer> stockLeft = new HashMap<>();
+        List<Runnable> completions = new ArrayList<>(batch.size());
+        List<Order> orders = new ArrayList<>(batch.size());
+        List<Submission> accepted = new ArrayList<>(batch.size());
+        for (Submission submission : batch) {
+            String shortfall = checkStock(submission, products, stockLeft);
+            if (shortfall != null) {
+                completions.add(() -> submission.complete(Status.REJECTED, null, null, shortfall));
+                continue;
+            }
+            Order order = new Order();
+            order.setClient(clients.get(submission.clientId));
+            order.setStatus(OrderStatus.PENDING);
+            BigDecimal total = BigDecimal.ZERO;
+            for (Line line : submission.lines) {
+                Product product = products.get(line.productId());
+                StockShardService.Taken taken = stockShardService.take(product.getId(), line.quantity())
+                        .orElseThrow(() -> new IllegalStateException("Insufficient stock for product " + product.getId()));
+                if (taken.remaining() != null) {
+                    stockLeft.put(product.getId(), taken.remaining());
+                }
+                eventPublisher.publishEvent(new StockChangedEvent(product.getId(), taken.remaining()));
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(product);
+                item.setQuantity(line.quantity());
+                item.setPrice(product.getPrice().multiply(BigDecimal.valueOf(line.quantity())));
+                order.getItems().add(item);
+                total = total.add(item.getPrice());
+                demandStatsService.recordAfterCommit(product.getId(), line.quantity());
+                inventoryLedgerService.recordDelta(product.getId(), -line.quantity());
+            }
+            order.setTotalPrice(total);
+            orders.add(order);
+            accepted.add(submission);
+        }
+
+        List<Order> saved = orderRepository.saveAll(orders);
+        for (int i = 0; i < saved.size(); i++) {
+            Submission submission = accepted.get(i);
+            Order order = saved.get(i);
+            completions.add(() -> submission.complete(Status.CREATED, order.getId(), order.getTotalPrice(), null));
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getStatus()));
+        }
+        return completions;
+    }
+
+    private String checkStock(Submission submission, Map<Long, Product> products, Map<Long, Integer> stockLeft) {
+        Map<Long, Integer> requested = new HashMap<>();
+        for (Line line : submission.lines) {
+            requested.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+        for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                return "Unknown product " + entry.getKey();
+            }
+            int available = stockShardService.isSharded(product.getId())
+                    ? stockShardService.available(product.getId())
+                    : stockLeft.getOrDefault(product.getId(), product.getQuantityInStock());
+            if (available < entry.getValue()) {
+                return "Insufficient stock for product " + product.getId();
+            }
+        }
+        return null;
+    }
+
+    public enum Status { QUEUED, CREATED, REJECTED, FAILED }
+
+    public record Line(Long productId, int quantity) {}
+
+    public record Result(String trackingId, Status status, Long orderId, BigDecimal totalPrice, String error,
+                         Instant submittedAt, Instant completedAt) {}
+
+    private static final class Submission {
+        final String trackingId;
+        final Long clientId;
+        final List<Line> lines;
+        final CompletableFuture<Result> completion = new CompletableFuture<>();
+        volatile Result result;
+
+        Submission(String trackingId, Long clientId, List<Line> lines) {
+            this.trackingId = trackingId;
+            this.clientId = clientId;
+            this.lines = lines;
+            this.result = new Result(trackingId, Status.QUEUED, null, null, null, Instant.now(), null);
+        }
+
+        void complete(Status status, Long orderId, BigDecimal totalPrice, String error) {
+            result = new Result(trackingId, status, orderId, totalPrice, error, result.submittedAt(), Instant.now());
+            completion.complete(result);
+        }
+    }
+}
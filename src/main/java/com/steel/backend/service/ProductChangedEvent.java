@@ -0,0 +1,7 @@
+package com.steel.backend.service;
+
+/**
+ * A product was created, updated or deleted. {@code previousName} is null for a new
+ * product and {@code name} is null for a deleted one.
+ */
+public record ProductChangedEvent(Long productId, String previousName, String name) {}
@@ -0,0 +1,50 @@
+package com.steel.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of exchange rates relative to a single base currency.
+ * Instances are swapped atomically by {@link ExchangeRateService}; never mutate one in place.
+ */
+public final class RateTable {
+    private final Currency base;
+    private final Map<String, Rate> rates;
+
+    public RateTable(Currency base, Map<String, Rate> rates) {
+        this.base = base;
+        this.rates = Map.copyOf(rates);
+    }
+
+    public Currency base() {
+        return base;
+    }
+
+    public Rate rate(Currency currency) {
+        Rate rate = rates.get(currency.getCurrencyCode());
+        if (rate == null) {
+            throw new IllegalArgumentException("No exchange rate for currency " + currency.getCurrencyCode());
+        }
+        return rate;
+    }
+
+    /**
+     * The rate for {@code currency}, or the base currency's rate when none is published.
+     */
+    public Rate rateOrBase(Currency currency) {
+        Rate rate = rates.get(currency.getCurrencyCode());
+        return rate != null ? rate : rates.get(base.getCurrencyCode());
+    }
+
+    public record Rate(Currency currency, BigDecimal factor, int fractionDigits) {
+        public Rate(Currency currency, BigDecimal factor) {
+            this(currency, factor, Math.max(currency.getDefaultFractionDigits(), 0));
+        }
+
+        public BigDecimal convert(BigDecimal amount) {
+            return amount.multiply(factor).setScale(fractionDigits, RoundingMode.HALF_EVEN);
+        }
+    }
+}
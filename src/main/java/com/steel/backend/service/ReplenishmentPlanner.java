@@ -0,0 +1,176 @@
+package com.steel.backend.service;
+
+import com.steel.backend.repository.OrderItemRepository;
+import com.steel.backend.repository.ProductRepository;
+import com.steel.backend.repository.ProductStockView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds purchase proposals per supplier for low-stock products. Low-stock rows are
+ * streamed as projections and demand comes from {@link DemandStatsService}, falling back
+ * to a streamed aggregate over recent order lines; the per-supplier work runs on a
+ * dedicated fork-join pool so it does not compete with the common pool.
+ */
+@Service
+public class ReplenishmentPlanner {
+    private static final Logger log = LoggerFactory.getLogger(ReplenishmentPlanner.class);
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final DemandStatsService demandStatsService;
+    private final TransactionTemplate readOnlyTx;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<Plan> latest = new AtomicReference<>();
+
+    @Value("${app.replenishment.low-stock-threshold:10}")
+    private int lowStockThreshold;
+
+    @Value("${app.replenishment.demand-window:P30D}")
+    private Duration demandWindow;
+
+    @Value("${app.replenishment.cover-days:30}")
+    private int coverDays;
+
+    @Value("${app.replenishment.min-order-quantity:1}")
+    private int minOrderQuantity;
+
+    public ReplenishmentPlanner(ProductRepository productRepository,
+                                OrderItemRepository orderItemRepository,
+                                DemandStatsService demandStatsService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.replenishment.parallelism:0}") int parallelism) {
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.demandStatsService = demandStatsService;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public Optional<Plan> latest() {
+        return Optional.ofNullable(latest.get());
+    }
+
+    /**
+     * Starts a run in the background. Returns false when a run is already in progress.
+     */
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) return false;
+        Instant startedAt = Instant.now();
+        latest.set(Plan.running(startedAt));
+        CompletableFuture.supplyAsync(() -> plan(startedAt), pool)
+                .whenComplete((plan, ex) -> {
+                    if (ex != null) {
+                        log.error("Replenishment run failed", ex);
+                        latest.set(Plan.failed(startedAt, ex.getMessage()));
+                    } else {
+                        latest.set(plan);
+                    }
+                    running.set(false);
+                });
+        return true;
+    }
+
+    private Plan plan(Instant startedAt) {
+        Map<Long, List<ProductStockView>> bySupplier = new HashMap<>();
+        int[] unassigned = {0};
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<ProductStockView> rows = productRepository.streamLowStock(lowStockThreshold)) {
+                rows.forEach(row -> {
+                    if (row.getSupplierId() == null) {
+                        unassigned[0]++;
+                    } else {
+                        bySupplier.computeIfAbsent(row.getSupplierId(), id -> new ArrayList<>()).add(row);
+                    }
+                });
+            }
+        });
+
+        Set<Long> wanted = new HashSet<>();
+        bySupplier.values().forEach(rows -> rows.forEach(row -> wanted.add(row.getId())));
+        Map<Long, Double> dailyDemand = new HashMap<>(wanted.size() * 2);
+        if (demandStatsService.isReady()) {
+            wanted.forEach(productId -> dailyDemand.put(productId, demandStatsService.unitsPerDay(productId)));
+        } else {
+            double windowDays = Math.max(1.0, demandWindow.toHours() / 24.0);
+            readOnlyTx.executeWithoutResult(status -> {
+                try (var rows = orderItemRepository.streamDemandSince(startedAt.minus(demandWindow))) {
+                    rows.forEach(row -> {
+                        if (wanted.contains(row.getProductId())) {
+                            dailyDemand.put(row.getProductId(), row.getUnits() / windowDays);
+                        }
+                    });
+                }
+            });
+        }
+
+        List<PurchaseProposal> proposals = bySupplier.entrySet().parallelStream()
+                .map(entry -> propose(entry.getKey(), entry.getValue(), dailyDemand))
+                .filter(proposal -> !proposal.lines().isEmpty())
+                .sorted(Comparator.comparing(PurchaseProposal::supplierId))
+                .collect(Collectors.toList());
+
+        return new Plan(Status.COMPLETED, startedAt, Instant.now(), wanted.size() + unassigned[0], unassigned[0],
+                proposals, null);
+    }
+
+    private PurchaseProposal propose(Long supplierId, List<ProductStockView> rows,
+                                     Map<Long, Double> dailyDemandByProduct) {
+        List<ProposalLine> lines = new ArrayList<>();
+        long totalUnits = 0;
+        BigDecimal estimatedCost = BigDecimal.ZERO;
+        for (ProductStockView row : rows) {
+            double dailyDemand = dailyDemandByProduct.getOrDefault(row.getId(), 0d);
+            long target = (long) Math.ceil(dailyDemand * coverDays);
+            long quantity = Math.max(target - row.getQuantityInStock(), 0);
+            if (quantity == 0 && row.getQuantityInStock() > 0) continue;
+            quantity = Math.max(quantity, minOrderQuantity);
+            lines.add(new ProposalLine(row.getId(), row.getName(), row.getQuantityInStock(), dailyDemand, quantity));
+            totalUnits += quantity;
+            estimatedCost = estimatedCost.add(row.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        }
+        return new PurchaseProposal(supplierId, lines, totalUnits, estimatedCost);
+    }
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    public record ProposalLine(Long productId, String productName, int inStock, double dailyDemand,
+                               long reorderQuantity) {}
+
+    public record PurchaseProposal(Long supplierId, List<ProposalLine> lines, long totalUnits,
+                                   BigDecimal estimatedCost) {}
+
+    public record Plan(Status status, Instant startedAt, Instant finishedAt, int lowStockProducts,
+                       int productsWithoutSupplier, List<PurchaseProposal> proposals, String error) {
+        static Plan running(Instant startedAt) {
+            return new Plan(Status.RUNNING, startedAt, null, 0, 0, List.of(), null);
+        }
+
+        static Plan failed(Instant startedAt, String error) {
+            return new Plan(Status.FAILED, startedAt, Instant.now(), 0, 0, List.of(), error);
+        }
+    }
+}
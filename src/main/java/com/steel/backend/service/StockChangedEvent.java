@@ -0,0 +1,7 @@
+package com.steel.backend.service;
+
+/**
+ * Published when a product's stock changes. {@code quantityInStock} is null when the
+ * publisher does not know the new total, e.g. after a sharded decrement or an order line.
+ */
+public record StockChangedEvent(Long productId, Integer quantityInStock) {}
@@ -0,0 +1,294 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.Product;
+import com.steel.backend.model.ProductStockShard;
+import com.steel.backend.repository.ProductRepository;
+import com.steel.backend.repository.ProductStockShardRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Optional sharded stock for high-contention products. A sharded product keeps its stock
+ * in N {@code product_stock_shards} rows and records N in {@code products.stock_shards};
+ * decrements pick a random shard and fall back to locking all shards only when no single
+ * shard can cover the quantity. The product row's {@code quantityInStock} is refreshed by
+ * the rebalancer and overlaid on reads. Writes decide from the persisted count, so every
+ * node agrees; the in-memory copy only serves reads and is refreshed by the rebalancer.
+ */
+@Service
+public class StockShardService {
+    private static final Logger log = LoggerFactory.getLogger(StockShardService.class);
+
+    private final ProductStockShardRepository shardRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StockShardService(ProductStockShardRepository shardRepository,
+                             ProductRepository productRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.shardRepository = shardRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadShardedProducts() {
+        transactionTemplate.executeWithoutResult(status -> productRepository.backfillStockShards());
+        refreshShardCounts();
+    }
+
+    private void refreshShardCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : productRepository.findShardCounts()) {
+            counts.put((Long) row[0], (Integer) row[1]);
+        }
+        shardCounts.keySet().retainAll(counts.keySet());
+        shardCounts.putAll(counts);
+    }
+
+    public boolean isSharded(Long productId) {
+        return shardCounts.containsKey(productId);
+    }
+
+    /**
+     * Splits the product's current stock evenly across {@code count} shards, or
+     * re-splits it if the product is already sharded.
+     */
+    @Transactional
+    public Product shard(Long productId, int count) {
+        if (count < 1 || count > 256) {
+            throw new IllegalArgumentException("Shard count must be between 1 and 256");
+        }
+        // Locking the product row first makes concurrent unsharded decrements wait and then
+        // see the shard count; locking the shards stops sharded decrements during the re-split.
+        Product product = productRepository.lockById(productId).orElseThrow();
+        int total = product.getStockShards() != null
+                ? shardRepository.lockShards(productId).stream().mapToInt(ProductStockShard::getQuantity).sum()
+                : product.getQuantityInStock();
+        shardRepository.deleteByProductId(productId);
+        shardRepository.flush();
+        shardRepository.saveAll(split(productId, total, count));
+        product.setQuantityInStock(total);
+        productRepository.setStockShards(productId, count);
+        product.setStockShards(count);
+        afterCommit(() -> shardCounts.put(productId, count));
+        return product;
+    }
+
+    @Transactional
+    public Product unshard(Long productId) {
+        Product product = productRepository.lockById(productId).orElseThrow();
+        if (product.getStockShards() != null) {
+            product.setQuantityInStock(shardRepository.lockShards(productId).stream()
+                    .mapToInt(ProductStockShard::getQuantity).sum());
+            shardRepository.deleteByProductId(productId);
+            productRepository.setStockShards(productId, null);
+            product.setStockShards(null);
+            afterCommit(() -> shardCounts.remove(productId));
+        }
+        return product;
+    }
+
+    /**
+     * Takes {@code quantity} units from the product, sharded or not, deciding from the
+     * committed shard count. Empty on shortfall. Must run inside a transaction.
+     */
+    public Optional<Taken> take(Long productId, int quantity) {
+        return take(productId, quantity, true);
+    }
+
+    /**
+     * Like {@link #take} without reading back the remaining unsharded stock, for callers
+     * that do not need it; stock listeners look up the live value themselves. False on
+     * shortfall.
+     */
+    public boolean tryTake(Long productId, int quantity) {
+        return take(productId, quantity, false).isPresent();
+    }
+
+    private Optional<Taken> take(Long productId, int quantity, boolean readRemaining) {
+        if (productRepository.decrementUnsharded(productId, quantity) == 1) {
+            return Optional.of(new Taken(readRemaining ? productRepository.findQuantityInStock(productId) : null));
+        }
+        Integer count = productRepository.findStockShards(productId);
+        if (count == null) return Optional.empty();
+        if (tryDecrement(productId, count, quantity)) return Optional.of(new Taken(null));
+        // Unsharded meanwhile: its shards are gone, so the stock is back on the product row.
+        if (productRepository.findStockShards(productId) == null
+                && productRepository.decrementUnsharded(productId, quantity) == 1) {
+            return Optional.of(new Taken(readRemaining ? productRepository.findQuantityInStock(productId) : null));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Replaces the stock of a sharded product, spreading it evenly across its shards.
+     */
+    @Transactional
+    public void setStock(Long productId, int quantity) {
+        if (productRepository.findStockShards(productId) == null) return;
+        redistribute(lockFresh(productId), quantity);
+    }
+
+    private boolean tryDecrement(Long productId, int count, int quantity) {
+        int start = ThreadLocalRandom.current().nextInt(count);
+        for (int i = 0; i < count; i++) {
+            if (shardRepository.tryDecrement(productId, (start + i) % count, quantity) == 1) {
+                return true;
+            }
+        }
+        // No single shard can cover it: lock all shards and take across them.
+        List<ProductStockShard> shards = lockFresh(productId);
+        int available = shards.stream().mapToInt(ProductStockShard::getQuantity).sum();
+        if (available < quantity) return false;
+        int remaining = quantity;
+        for (ProductStockShard shard : shards) {
+            int take = Math.min(shard.getQuantity(), remaining);
+            shard.setQuantity(shard.getQuantity() - take);
+            remaining -= take;
+            if (remaining == 0) break;
+        }
+        return true;
+    }
+
+    public int available(Long productId) {
+        return (int) shardRepository.sumByProductId(productId);
+    }
+
+    /**
+     * Replaces {@code quantityInStock} with the live shard sum on the given products.
+     * The entities are detached first so the overlay is never flushed back.
+     */
+    public <T extends Iterable<Product>> T overlay(T products) {
+        List<Long> sharded = new ArrayList<>();
+        for (Product product : products) {
+            if (isSharded(product.getId())) sharded.add(product.getId());
+        }
+        if (sharded.isEmpty()) return products;
+        Map<Long, Integer> sums = liveStock(sharded);
+        for (Product product : products) {
+            Integer sum = sums.get(product.getId());
+            if (sum != null) {
+                if (entityManager.contains(product)) entityManager.detach(product);
+                product.setQuantityInStock(sum);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Same as {@link #overlay(Iterable)} for projected rows carrying {@code id} and
+     * {@code quantityInStock} keys.
+     */
+    public List<Map<String, Object>> overlayRows(List<Map<String, Object>> rows) {
+        List<Long> sharded = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            Long id = (Long) row.get("id");
+            if (id != null && isSharded(id)) sharded.add(id);
+        }
+        if (sharded.isEmpty()) return rows;
+        Map<Long, Integer> sums = liveStock(sharded);
+        for (Map<String, Object> row : rows) {
+            Integer sum = sums.get((Long) row.get("id"));
+            if (sum != null) row.put("quantityInStock", sum);
+        }
+        return rows;
+    }
+
+    private Map<Long, Integer> liveStock(Collection<Long> productIds) {
+        Map<Long, Integer> sums = new HashMap<>();
+        for (Object[] row : shardRepository.sumByProductIds(productIds)) {
+            sums.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return sums;
+    }
+
+    public Product overlay(Product product) {
+        overlay(List.of(product));
+        return product;
+    }
+
+    /**
+     * Evens out drained shards and writes the summed stock back to the product row,
+     * so low-stock queries on {@code products} stay close to the truth.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.shards.rebalance-interval-ms:5000}")
+    public void rebalance() {
+        refreshShardCounts();
+        for (Long productId : List.copyOf(shardCounts.keySet())) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Product row before shards, the same order as shard() and unshard().
+                    Optional<Product> product = productRepository.lockById(productId);
+                    List<ProductStockShard> shards = shardRepository.lockShards(productId);
+                    if (product.isEmpty() || shards.isEmpty()) return;
+                    int total = shards.stream().mapToInt(ProductStockShard::getQuantity).sum();
+                    int min = shards.stream().mapToInt(ProductStockShard::getQuantity).min().orElse(0);
+                    int max = shards.stream().mapToInt(ProductStockShard::getQuantity).max().orElse(0);
+                    if (max - min > 1) {
+                        redistribute(shards, total);
+                    }
+                    product.get().setQuantityInStock(total);
+                });
+            } catch (RuntimeException ex) {
+                log.warn("Rebalancing stock shards of product {} failed: {}", productId, ex.getMessage());
+            }
+        }
+    }
+
+    private List<ProductStockShard> lockFresh(Long productId) {
+        List<ProductStockShard> shards = shardRepository.lockShards(productId);
+        // Bulk decrements bypass the persistence context, so managed shards may be stale.
+        shards.forEach(entityManager::refresh);
+        return shards;
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * A successful {@link #take}: {@code remaining} is the product row's stock after an
+     * unsharded decrement, or null when the units came from shards.
+     */
+    public record Taken(Integer remaining) {}
+
+    private static void redistribute(List<ProductStockShard> shards, int total) {
+        int count = shards.size();
+        for (int i = 0; i < count; i++) {
+            shards.get(i).setQuantity(total / count + (i < total % count ? 1 : 0));
+        }
+    }
+
+    private static List<ProductStockShard> split(Long productId, int total, int count) {
+        List<ProductStockShard> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shards.add(new ProductStockShard(productId, i, total / count + (i < total % count ? 1 : 0)));
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,3 @@
+package com.steel.backend.service;
+
+public record SupplierChangedEvent(Long supplierId, String name) {}
@@ -0,0 +1,167 @@
+package com.steel.backend.service;
+
+import com.steel.backend.model.Supplier;
+import com.steel.backend.repository.SupplierRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory reverse indexes from supplied product name, and from the category of the
+ * catalog products with that name, to supplier ids (both case-insensitive). Reads are
+ * lock-free; writes replace the per-key id sets copy-on-write. A supplier or product
+ * change reloads the categories of just the suppliers it touches, outside the monitor;
+ * the periodic rebuild repairs any reloads that raced each other.
+ */
+@Service
+public class SupplierIndex {
+    private final SupplierRepository supplierRepository;
+    private volatile Map<String, Set<Long>> suppliersByProduct = new ConcurrentHashMap<>();
+    private Map<Long, Set<String>> productsBySupplier = new HashMap<>();
+    private Map<Long, Set<String>> categoriesBySupplier = new HashMap<>();
+    private volatile Map<String, Set<Long>> suppliersByCategory = new ConcurrentHashMap<>();
+
+    public SupplierIndex(SupplierRepository supplierRepository) {
+        this.supplierRepository = supplierRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.supplier-index.rebuild-interval-ms:900000}",
+            initialDelayString = "${app.supplier-index.rebuild-interval-ms:900000}")
+    public synchronized void rebuild() {
+        Map<Long, Set<String>> loaded = new HashMap<>();
+        for (Object[] row : supplierRepository.findAllSuppliedProductPairs()) {
+            loaded.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add(normalize((String) row[1]));
+        }
+        Map<String, Set<Long>> inverted = new HashMap<>();
+        loaded.forEach((supplierId, keys) -> keys.forEach(key ->
+                inverted.computeIfAbsent(key, k -> new HashSet<>()).add(supplierId)));
+        Map<String, Set<Long>> next = new ConcurrentHashMap<>();
+        inverted.forEach((key, ids) -> next.put(key, Set.copyOf(ids)));
+        productsBySupplier = loaded;
+        suppliersByProduct = next;
+        rebuildCategories();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Only suppliers of the old or new name can gain or lose the product's category.
+        Set<Long> affected = new HashSet<>(lookup(event.previousName()));
+        affected.addAll(lookup(event.name()));
+        reloadCategories(affected);
+    }
+
+    private void rebuildCategories() {
+        Map<Long, Set<String>> loaded = new HashMap<>();
+        for (Object[] row : supplierRepository.findAllSuppliedCategoryPairs()) {
+            loaded.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add(normalize((String) row[1]));
+        }
+        Map<String, Set<Long>> inverted = new HashMap<>();
+        loaded.forEach((supplierId, keys) -> keys.forEach(key ->
+                inverted.computeIfAbsent(key, k -> new HashSet<>()).add(supplierId)));
+        Map<String, Set<Long>> next = new ConcurrentHashMap<>();
+        inverted.forEach((key, ids) -> next.put(key, Set.copyOf(ids)));
+        categoriesBySupplier = loaded;
+        suppliersByCategory = next;
+    }
+
+    private void reloadCategories(Set<Long> supplierIds) {
+        if (supplierIds.isEmpty()) return;
+        Map<Long, Set<String>> loaded = new HashMap<>();
+        supplierIds.forEach(id -> loaded.put(id, new HashSet<>()));
+        for (Object[] row : supplierRepository.findSuppliedCategoryPairsBySupplierIdIn(supplierIds)) {
+            loaded.get((Long) row[0]).add(normalize((String) row[1]));
+        }
+        synchronized (this) {
+            loaded.forEach((supplierId, keys) -> {
+                removeCategories(supplierId);
+                // A supplier removed while its categories were loading stays removed.
+                if (productsBySupplier.containsKey(supplierId)) {
+                    putCategories(supplierId, keys);
+                }
+            });
+        }
+    }
+
+    public Set<Long> lookup(String productName) {
+        return suppliersByProduct.getOrDefault(normalize(productName), Set.of());
+    }
+
+    public Set<Long> lookupCategory(String category) {
+        return suppliersByCategory.getOrDefault(normalize(category), Set.of());
+    }
+
+    public void index(Supplier supplier) {
+        Set<String> keys = new HashSet<>();
+        if (supplier.getSuppliedProducts() != null) {
+            for (String name : supplier.getSuppliedProducts()) {
+                keys.add(normalize(name));
+            }
+        }
+        synchronized (this) {
+            removeNames(supplier.getId());
+            put(supplier.getId(), keys);
+        }
+        reloadCategories(Set.of(supplier.getId()));
+    }
+
+    public synchronized void remove(Long supplierId) {
+        removeNames(supplierId);
+        removeCategories(supplierId);
+    }
+
+    private void removeNames(Long supplierId) {
+        Set<String> keys = productsBySupplier.remove(supplierId);
+        if (keys == null) return;
+        for (String key : keys) {
+            suppliersByProduct.computeIfPresent(key, (k, ids) -> {
+                Set<Long> next = new HashSet<>(ids);
+                next.remove(supplierId);
+                return next.isEmpty() ? null : Set.copyOf(next);
+            });
+        }
+    }
+
+    private void put(Long supplierId, Set<String> keys) {
+        productsBySupplier.put(supplierId, keys);
+        for (String key : keys) {
+            suppliersByProduct.merge(key, Set.of(supplierId), (ids, added) -> {
+                Set<Long> next = new HashSet<>(ids);
+                next.addAll(added);
+                return Set.copyOf(next);
+            });
+        }
+    }
+
+    private void removeCategories(Long supplierId) {
+        Set<String> keys = categoriesBySupplier.remove(supplierId);
+        if (keys == null) return;
+        for (String key : keys) {
+            suppliersByCategory.computeIfPresent(key, (k, ids) -> {
+                Set<Long> next = new HashSet<>(ids);
+                next.remove(supplierId);
+                return next.isEmpty() ? null : Set.copyOf(next);
+            });
+        }
+    }
+
+    private void putCategories(Long supplierId, Set<String> keys) {
+        categoriesBySupplier.put(supplierId, keys);
+        for (String key : keys) {
+            suppliersByCategory.merge(key, Set.of(supplierId), (ids, added) -> {
+                Set<Long> next = new HashSet<>(ids);
+                next.addAll(added);
+                return Set.copyOf(next);
+            });
+        }
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
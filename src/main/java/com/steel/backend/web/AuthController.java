@@ -1,9 +1,12 @@
 package com.steel.backend.web;
 
+import com.steel.backend.model.RoleType;
 import com.steel.backend.model.User;
 import com.steel.backend.repository.UserRepository;
+import com.steel.backend.security.HasAnyRole;
 import com.steel.backend.security.JwtService;
 import com.steel.backend.web.dto.AuthDtos;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -41,6 +44,26 @@ public class AuthController {
         String token = jwtService.generateToken(request.username(), Map.of());
         return ResponseEntity.ok(new AuthDtos.JwtResponse(token));
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String authHeader) {
+        if (!authHeader.startsWith("Bearer ")) {
+            throw new IllegalArgumentException("Bearer token required");
+        }
+        try {
+            jwtService.revoke(authHeader.substring(7));
+        } catch (JwtException ex) {
+            throw new IllegalArgumentException("Invalid token");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/revoke")
+    @HasAnyRole(RoleType.ADMIN)
+    public ResponseEntity<Void> revoke(@RequestParam("jti") String jti) {
+        jwtService.revokeId(jti);
+        return ResponseEntity.noContent().build();
+    }
 }
 
 
@@ -0,0 +1,63 @@
+package com.steel.backend.web;
+
+import com.steel.backend.model.CatalogEntry;
+import com.steel.backend.model.RoleType;
+import com.steel.backend.model.StockStatus;
+import com.steel.backend.repository.CatalogEntryRepository;
+import com.steel.backend.security.HasAnyRole;
+import com.steel.backend.service.CatalogReadModel;
+import com.steel.backend.web.dto.PageDtos;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/catalog-view")
+public class CatalogViewController {
+    private static final Set<String> SORTABLE = Set.of("productId", "name", "category", "price", "quantityInStock");
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final CatalogEntryRepository catalogEntryRepository;
+    private final CatalogReadModel catalogReadModel;
+
+    public CatalogViewController(CatalogEntryRepository catalogEntryRepository, CatalogReadModel catalogReadModel) {
+        this.catalogEntryRepository = catalogEntryRepository;
+        this.catalogReadModel = catalogReadModel;
+    }
+
+    @GetMapping
+    public PageDtos.ResultPage<CatalogEntry> search(@RequestParam(required = false) String category,
+                                                    @RequestParam(required = false) StockStatus stockStatus,
+                                                    @RequestParam(required = false) Long supplierId,
+                                                    @RequestParam(required = false) String q,
+                                                    @RequestParam(defaultValue = "productId") String sort,
+                                                    @RequestParam(defaultValue = "asc") String direction,
+                                                    @RequestParam(defaultValue = "0") int page,
+                                                    @RequestParam(defaultValue = "50") int size) {
+        if (!SORTABLE.contains(sort)) {
+            throw new IllegalArgumentException("sort must be one of " + SORTABLE);
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        Sort order = Sort.by(Sort.Direction.fromString(direction), sort);
+        if (!"productId".equals(sort)) {
+            order = order.and(Sort.by("productId"));
+        }
+        String namePattern = q == null || q.isBlank() ? null
+                : "%" + q.trim().toLowerCase(Locale.ROOT).replace("%", "\\%").replace("_", "\\_") + "%";
+        Page<CatalogEntry> result = catalogEntryRepository.search(category, stockStatus, supplierId, namePattern,
+                PageRequest.of(page, size, order));
+        return new PageDtos.ResultPage<>(result.getContent(), page, size, result.getTotalElements());
+    }
+
+    @PostMapping("/reconcile")
+    @HasAnyRole(RoleType.ADMIN)
+    public CatalogReadModel.Report reconcile() {
+        return catalogReadModel.reconcile();
+    }
+}
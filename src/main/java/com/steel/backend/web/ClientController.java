@@ -1,56 +1,135 @@
 package com.steel.backend.web;
 
 import com.steel.backend.model.Client;
+import com.steel.backend.model.RoleType;
 import com.steel.backend.repository.ClientRepository;
+import com.steel.backend.repository.FieldProjectionRepository;
+import com.steel.backend.security.HasAnyRole;
+import com.steel.backend.service.ClientChangedEvent;
+import com.steel.backend.service.ClientFacets;
+import com.steel.backend.service.EntityLoader;
+import com.steel.backend.web.dto.PageDtos;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/clients")
 public class ClientController {
-    private final ClientRepository clientRepository;
+    private static final Map<String, String> FIELDS = Map.of(
+            "id", "id",
+            "name", "name",
+            "contactInfo", "contactInfo",
+            "country", "country",
+            "businessType", "businessType");
+    private static final Set<String> SORTABLE = Set.of("id", "name", "country", "businessType");
+    private static final int MAX_PAGE_SIZE = 500;
 
-    public ClientController(ClientRepository clientRepository) {
+    private final ClientRepository clientRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final EntityLoader entityLoader;
+    private final ClientFacets clientFacets;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ClientController(ClientRepository clientRepository,
+                            FieldProjectionRepository fieldProjectionRepository,
+                            EntityLoader entityLoader,
+                            ClientFacets clientFacets,
+                            ApplicationEventPublisher eventPublisher) {
         this.clientRepository = clientRepository;
+        this.fieldProjectionRepository = fieldProjectionRepository;
+        this.entityLoader = entityLoader;
+        this.clientFacets = clientFacets;
+        this.eventPublisher = eventPublisher;
     }
 
     @GetMapping
-    public List<Client> list() { return clientRepository.findAll(); }
+    public List<?> list(@RequestParam(required = false) String fields) {
+        Map<String, String> selected = FieldProjectionRepository.resolve(fields, FIELDS);
+        return selected == null ? clientRepository.findAll() : fieldProjectionRepository.findAll(Client.class, selected);
+    }
+
+    @GetMapping("/directory")
+    public PageDtos.ResultPage<Client> directory(@RequestParam(required = false) String country,
+                                                 @RequestParam(required = false) String businessType,
+                                                 @RequestParam(defaultValue = "name") String sort,
+                                                 @RequestParam(defaultValue = "asc") String direction,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "50") int size) {
+        if (!SORTABLE.contains(sort)) {
+            throw new IllegalArgumentException("sort must be one of " + SORTABLE);
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        Sort order = Sort.by(Sort.Direction.fromString(direction), sort);
+        if (!"id".equals(sort)) {
+            order = order.and(Sort.by("id"));
+        }
+        // The total comes from the facet counts, so paging needs no count query.
+        Slice<Client> result = clientRepository.search(country, businessType, PageRequest.of(page, size, order));
+        return new PageDtos.ResultPage<>(result.getContent(), page, size, clientFacets.count(country, businessType));
+    }
+
+    @GetMapping("/facets")
+    public ClientFacets.Summary facets(@RequestParam(required = false) String country,
+                                       @RequestParam(required = false) String businessType) {
+        return clientFacets.summary(country, businessType);
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Client> get(@PathVariable Long id) {
-        return clientRepository.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> get(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        Map<String, String> selected = FieldProjectionRepository.resolve(fields, FIELDS);
+        if (selected != null) {
+            return fieldProjectionRepository.findById(Client.class, selected, id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        return entityLoader.client(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
     public ResponseEntity<Client> create(@RequestBody @Valid Client client) {
         Client saved = clientRepository.save(client);
+        eventPublisher.publishEvent(new ClientChangedEvent(null, ClientFacets.Key.of(saved)));
         return ResponseEntity.created(URI.create("/api/clients/" + saved.getId())).body(saved);
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
     public ResponseEntity<Client> update(@PathVariable Long id, @RequestBody @Valid Client client) {
         return clientRepository.findById(id)
                 .map(existing -> {
+                    ClientFacets.Key before = ClientFacets.Key.of(existing);
                     client.setId(existing.getId());
-                    return ResponseEntity.ok(clientRepository.save(client));
+                    Client saved = clientRepository.save(client);
+                    eventPublisher.publishEvent(new ClientChangedEvent(before, ClientFacets.Key.of(saved)));
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @HasAnyRole(RoleType.ADMIN)
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (!clientRepository.existsById(id)) return ResponseEntity.notFound().build();
-        clientRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
+        return clientRepository.findById(id)
+                .map(existing -> {
+                    ClientFacets.Key before = ClientFacets.Key.of(existing);
+                    clientRepository.delete(existing);
+                    eventPublisher.publishEvent(new ClientChangedEvent(before, null));
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 }
 
@@ -0,0 +1,32 @@
+package com.steel.backend.web;
+
+import com.steel.backend.model.RoleType;
+import com.steel.backend.security.HasAnyRole;
+import com.steel.backend.service.DemandStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/demand")
+public class DemandController {
+    private final DemandStatsService demandStatsService;
+
+    public DemandController(DemandStatsService demandStatsService) {
+        this.demandStatsService = demandStatsService;
+    }
+
+    @GetMapping("/{productId}")
+    public ResponseEntity<DemandStatsService.Snapshot> get(@PathVariable Long productId) {
+        return demandStatsService.snapshot(productId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.ok(new DemandStatsService.Snapshot(productId, 0, 0)));
+    }
+
+    @PostMapping("/rebuild")
+    @HasAnyRole(RoleType.ADMIN)
+    public Map<String, Object> rebuild() {
+        return Map.of("orderLines", demandStatsService.rebuild());
+    }
+}
@@ -1,7 +1,11 @@
 package com.steel.backend.web;
 
+import com.steel.backend.config.RequestDeadline;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -30,11 +34,23 @@ public class GlobalExceptionHandler {
         body.put("errors", errors);
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
     }
-}
-
-
-
-
-
 
+    @ExceptionHandler({RequestDeadline.ExceededException.class, QueryTimeoutException.class,
+            TransactionTimedOutException.class})
+    public ResponseEntity<Map<String, Object>> handleDeadline(RuntimeException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Request deadline exceeded");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(body);
+    }
 
+    /**
+     * No pool connection within Hikari's connection-timeout, which the request deadline
+     * does not shorten; the client should retry just like on a missed deadline.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, Object>> handleNoConnection(CannotCreateTransactionException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Database connection unavailable");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(body);
+    }
+}
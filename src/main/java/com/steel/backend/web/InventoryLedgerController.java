@@ -0,0 +1,29 @@
+package com.steel.backend.web;
+
+import com.steel.backend.model.RoleType;
+import com.steel.backend.security.HasAnyRole;
+import com.steel.backend.service.InventoryLedgerService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/inventory-ledger")
+@HasAnyRole(RoleType.ADMIN)
+public class InventoryLedgerController {
+    private final InventoryLedgerService inventoryLedgerService;
+
+    public InventoryLedgerController(InventoryLedgerService inventoryLedgerService) {
+        this.inventoryLedgerService = inventoryLedgerService;
+    }
+
+    @PostMapping("/replay")
+    public InventoryLedgerService.ReplayReport replay() {
+        return inventoryLedgerService.replay();
+    }
+
+    @PostMapping("/checkpoints")
+    public ResponseEntity<Void> checkpoint() {
+        inventoryLedgerService.checkpoint();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.steel.backend.web;
+
+import com.steel.backend.service.LiveFeedService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/stream")
+public class LiveFeedController {
+    private final LiveFeedService liveFeedService;
+
+    public LiveFeedController(LiveFeedService liveFeedService) {
+        this.liveFeedService = liveFeedService;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(name = "topics", defaultValue = "stock,orders") Set<String> topics) {
+        return liveFeedService.subscribe(topics);
+    }
+}
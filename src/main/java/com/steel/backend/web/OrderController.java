@@ -2,44 +2,131 @@ package com.steel.backend.web;
 
 import com.steel.backend.model.*;
 import com.steel.backend.repository.*;
+import com.steel.backend.security.HasAnyRole;
+import com.steel.backend.service.*;
+import com.steel.backend.web.dto.BulkStatusDtos;
+import com.steel.backend.web.dto.QuoteDtos;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
+    private static final Map<String, String> FIELDS = Map.of(
+            "id", "id",
+            "clientId", "client.id",
+            "clientName", "client.name",
+            "totalPrice", "totalPrice",
+            "status", "status",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt");
+
     private final OrderRepository orderRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
     private final ClientRepository clientRepository;
     private final ProductRepository productRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final ExchangeRateService exchangeRateService;
+    private final DemandStatsService demandStatsService;
+    private final OrderSubmissionService orderSubmissionService;
+    private final StockShardService stockShardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkOrderStatusService bulkOrderStatusService;
+    private final EntityLoader entityLoader;
+    private final InventoryLedgerService inventoryLedgerService;
 
     public OrderController(OrderRepository orderRepository,
+                           FieldProjectionRepository fieldProjectionRepository,
                            ClientRepository clientRepository,
                            ProductRepository productRepository,
-                           OrderItemRepository orderItemRepository) {
+                           OrderItemRepository orderItemRepository,
+                           OrderArchiveService orderArchiveService,
+                           ExchangeRateService exchangeRateService,
+                           DemandStatsService demandStatsService,
+                           OrderSubmissionService orderSubmissionService,
+                           StockShardService stockShardService,
+                           ApplicationEventPublisher eventPublisher,
+                           BulkOrderStatusService bulkOrderStatusService,
+                           EntityLoader entityLoader,
+                           InventoryLedgerService inventoryLedgerService) {
         this.orderRepository = orderRepository;
+        this.fieldProjectionRepository = fieldProjectionRepository;
         this.clientRepository = clientRepository;
         this.productRepository = productRepository;
         this.orderItemRepository = orderItemRepository;
+        this.orderArchiveService = orderArchiveService;
+        this.exchangeRateService = exchangeRateService;
+        this.demandStatsService = demandStatsService;
+        this.orderSubmissionService = orderSubmissionService;
+        this.stockShardService = stockShardService;
+        this.eventPublisher = eventPublisher;
+        this.bulkOrderStatusService = bulkOrderStatusService;
+        this.entityLoader = entityLoader;
+        this.inventoryLedgerService = inventoryLedgerService;
     }
 
     @GetMapping
-    public List<Order> list() { return orderRepository.findAll(); }
+    public List<?> list(@RequestParam(required = false) String fields) {
+        Map<String, String> selected = FieldProjectionRepository.resolve(fields, FIELDS);
+        return selected == null
+                ? orderRepository.findAllWithDetails()
+                : fieldProjectionRepository.findAll(Order.class, selected);
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Order> get(@PathVariable Long id) {
-        return orderRepository.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> get(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        Map<String, String> selected = FieldProjectionRepository.resolve(fields, FIELDS);
+        if (selected != null) {
+            return fieldProjectionRepository.findById(Order.class, selected, id)
+                    .or(() -> orderArchiveService.findArchivedRow(id).map(archived -> project(archived, selected)))
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        return orderRepository.findWithDetailsById(id)
+                .or(() -> orderArchiveService.findArchived(id))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Projects an archived order onto the same field names as a live one.
+     */
+    private Map<String, Object> project(ArchivedOrder archived, Map<String, String> selected) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : selected.keySet()) {
+            row.put(field, switch (field) {
+                case "id" -> archived.getId();
+                case "clientId" -> archived.getClientId();
+                case "clientName" -> archived.getClientId() == null ? null
+                        : entityLoader.client(archived.getClientId()).map(Client::getName).orElse(null);
+                case "totalPrice" -> archived.getTotalPrice();
+                case "status" -> archived.getStatus();
+                case "createdAt" -> archived.getCreatedAt();
+                case "updatedAt" -> archived.getUpdatedAt();
+                default -> throw new IllegalArgumentException("Unknown field '" + field + "'");
+            });
+        }
+        return row;
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STAFF')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER, RoleType.STAFF})
     @Transactional
     public ResponseEntity<Order> create(@RequestParam Long clientId,
                                         @RequestBody @Valid List<ItemPayload> items) {
@@ -50,14 +137,20 @@ public class OrderController {
         order.setTotalPrice(BigDecimal.ZERO);
         Order saved = orderRepository.save(order);
 
+        // Suppliers come along because the created order is returned with its products.
+        Map<Long, Product> products = productRepository.findWithSupplierByIdIn(
+                        items.stream().map(ItemPayload::productId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity(), (a, b) -> a));
+
         BigDecimal total = BigDecimal.ZERO;
         for (ItemPayload payload : items) {
-            Product product = productRepository.findById(payload.productId()).orElseThrow();
-            if (product.getQuantityInStock() < payload.quantity()) {
+            Product product = Optional.ofNullable(products.get(payload.productId())).orElseThrow();
+            if (!stockShardService.tryTake(product.getId(), payload.quantity())) {
                 throw new IllegalArgumentException("Insufficient stock for product " + product.getId());
             }
-            product.setQuantityInStock(product.getQuantityInStock() - payload.quantity());
-            productRepository.save(product);
+            // Listeners read the live stock, so the decrement is not followed by a read-back.
+            eventPublisher.publishEvent(new StockChangedEvent(product.getId(), null));
 
             OrderItem item = new OrderItem();
             item.setOrder(saved);
@@ -67,21 +160,102 @@ public class OrderController {
             orderItemRepository.save(item);
             saved.getItems().add(item);
             total = total.add(item.getPrice());
+            demandStatsService.recordAfterCommit(product.getId(), payload.quantity());
+            inventoryLedgerService.recordDelta(product.getId(), -payload.quantity());
         }
 
         saved.setTotalPrice(total);
         orderRepository.save(saved);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(saved.getId(), saved.getStatus()));
         return ResponseEntity.created(URI.create("/api/orders/" + saved.getId())).body(saved);
     }
 
+    @PostMapping("/submissions")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER, RoleType.STAFF})
+    public ResponseEntity<OrderSubmissionService.Result> submit(@RequestParam Long clientId,
+                                                                @RequestBody @Valid List<ItemPayload> items) {
+        List<OrderSubmissionService.Line> lines = items.stream()
+                .map(item -> new OrderSubmissionService.Line(item.productId(), item.quantity()))
+                .toList();
+        return orderSubmissionService.submit(clientId, lines)
+                .map(result -> ResponseEntity.accepted()
+                        .location(URI.create("/api/orders/submissions/" + result.trackingId()))
+                        .body(result))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header("Retry-After", "1")
+                        .build());
+    }
+
+    @GetMapping("/submissions/{trackingId}")
+    public DeferredResult<ResponseEntity<OrderSubmissionService.Result>> submission(
+            @PathVariable String trackingId,
+            @RequestParam(name = "waitMs", defaultValue = "0") long waitMs) {
+        DeferredResult<ResponseEntity<OrderSubmissionService.Result>> deferred = new DeferredResult<>(
+                Math.min(Math.max(waitMs, 1), 30_000L),
+                () -> orderSubmissionService.status(trackingId)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build()));
+        var completion = orderSubmissionService.completion(trackingId);
+        if (completion.isEmpty()) {
+            deferred.setResult(ResponseEntity.notFound().build());
+        } else if (waitMs <= 0 || completion.get().isDone()) {
+            deferred.setResult(ResponseEntity.ok(orderSubmissionService.status(trackingId).orElseThrow()));
+        } else {
+            completion.get().thenAccept(result -> deferred.setResult(ResponseEntity.ok(result)));
+        }
+        return deferred;
+    }
+
+    @PostMapping("/quote")
+    public QuoteDtos.OrderQuote quote(@RequestParam Long clientId,
+                                      @RequestParam(required = false) String currency,
+                                      @RequestBody @Valid List<ItemPayload> items) {
+        Client client = entityLoader.client(clientId).orElseThrow();
+        RateTable.Rate rate = exchangeRateService.rateFor(currency, client.getCountry());
+        Map<Long, Product> products = productRepository.findAllById(
+                        items.stream().map(ItemPayload::productId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<QuoteDtos.LineQuote> lines = new ArrayList<>(items.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemPayload payload : items) {
+            Product product = products.get(payload.productId());
+            if (product == null) {
+                throw new IllegalArgumentException("Unknown product " + payload.productId());
+            }
+            BigDecimal unitPrice = rate.convert(product.getPrice());
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(payload.quantity()));
+            lines.add(new QuoteDtos.LineQuote(product.getId(), payload.quantity(), unitPrice, lineTotal));
+            total = total.add(lineTotal);
+        }
+        return new QuoteDtos.OrderQuote(client.getId(), rate.currency().getCurrencyCode(), lines, total);
+    }
+
     @PutMapping("/{id}/status")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
+    @Transactional
     public ResponseEntity<Order> updateStatus(@PathVariable Long id, @RequestParam OrderStatus status) {
-        return orderRepository.findById(id)
-                .map(order -> { order.setStatus(status); return ResponseEntity.ok(orderRepository.save(order)); })
+        // Locked so a concurrent transition cannot slip in between the check and the write.
+        return orderRepository.lockById(id)
+                .map(order -> {
+                    if (!order.getStatus().canTransitionTo(status)) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).<Order>build();
+                    }
+                    order.setStatus(status);
+                    Order saved = orderRepository.save(order);
+                    eventPublisher.publishEvent(new OrderStatusChangedEvent(saved.getId(), saved.getStatus()));
+                    return ResponseEntity.ok(saved);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PutMapping("/status")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
+    public BulkStatusDtos.BulkStatusResponse updateStatuses(@RequestBody @Valid BulkStatusDtos.BulkStatusRequest request) {
+        return bulkOrderStatusService.transition(request);
+    }
+
     public record ItemPayload(Long productId, int quantity) {}
 }
 
@@ -0,0 +1,84 @@
+package com.steel.backend.web;
+
+import com.steel.backend.service.OrderDocumentService;
+import com.steel.backend.service.OrderDocumentService.DocumentType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Serves rendered order documents. On Tomcat the file is handed to the connector's
+ * sendfile support, so the bytes go from the page cache to the socket without passing
+ * through the JVM; elsewhere it falls back to streaming a {@link FileSystemResource}.
+ */
+@RestController
+@RequestMapping("/api/orders/{id}")
+public class OrderDocumentController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final MediaType HTML = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+    private static final int MAX_LOOKUPS = 3;
+
+    private final OrderDocumentService orderDocumentService;
+
+    public OrderDocumentController(OrderDocumentService orderDocumentService) {
+        this.orderDocumentService = orderDocumentService;
+    }
+
+    @GetMapping("/invoice")
+    public ResponseEntity<FileSystemResource> invoice(@PathVariable Long id, HttpServletRequest request,
+                                                      HttpServletResponse response) throws IOException {
+        return serve(id, DocumentType.INVOICE, request, response);
+    }
+
+    @GetMapping("/packing-list")
+    public ResponseEntity<FileSystemResource> packingList(@PathVariable Long id, HttpServletRequest request,
+                                                          HttpServletResponse response) throws IOException {
+        return serve(id, DocumentType.PACKING_LIST, request, response);
+    }
+
+    private ResponseEntity<FileSystemResource> serve(Long id, DocumentType type, HttpServletRequest request,
+                                                     HttpServletResponse response) throws IOException {
+        Path path = null;
+        long length = 0;
+        for (int attempt = 0; path == null; attempt++) {
+            if (attempt == MAX_LOOKUPS) {
+                // Invalidated on every lookup; the order is changing faster than it renders.
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+            }
+            Optional<Path> document = orderDocumentService.document(id, type);
+            if (document.isEmpty()) return ResponseEntity.notFound().build();
+            try {
+                length = Files.size(document.get());
+                path = document.get();
+            } catch (NoSuchFileException ex) {
+                // Invalidated between lookup and send; looking it up again renders the fresh one.
+            }
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", path.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            request.setAttribute("org.apache.tomcat.sendfile.end", length);
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(HTML.toString());
+            response.setContentLengthLong(length);
+            response.setHeader("Cache-Control", "private, max-age=60");
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(HTML)
+                .contentLength(length)
+                .header("Cache-Control", "private, max-age=60")
+                .body(new FileSystemResource(path));
+    }
+}
@@ -1,78 +1,200 @@
 package com.steel.backend.web;
 
+import com.steel.backend.model.Client;
 import com.steel.backend.model.Product;
+import com.steel.backend.model.RoleType;
+import com.steel.backend.repository.FieldProjectionRepository;
 import com.steel.backend.repository.ProductRepository;
+import com.steel.backend.security.HasAnyRole;
+import com.steel.backend.service.EntityLoader;
+import com.steel.backend.service.ExchangeRateService;
+import com.steel.backend.service.InventoryLedgerService;
+import com.steel.backend.service.ProductChangedEvent;
+import com.steel.backend.service.RateTable;
+import com.steel.backend.service.StockChangedEvent;
+import com.steel.backend.service.StockShardService;
+import com.steel.backend.web.dto.QuoteDtos;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
+    private static final Map<String, String> FIELDS = Map.of(
+            "id", "id",
+            "name", "name",
+            "category", "category",
+            "description", "description",
+            "price", "price",
+            "quantityInStock", "quantityInStock",
+            "supplierId", "supplier.id",
+            "supplierName", "supplier.name");
+
     private final ProductRepository productRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final StockShardService stockShardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityLoader entityLoader;
+    private final InventoryLedgerService inventoryLedgerService;
 
-    public ProductController(ProductRepository productRepository) {
+    public ProductController(ProductRepository productRepository,
+                             FieldProjectionRepository fieldProjectionRepository,
+                             ExchangeRateService exchangeRateService,
+                             StockShardService stockShardService,
+                             ApplicationEventPublisher eventPublisher,
+                             EntityLoader entityLoader,
+                             InventoryLedgerService inventoryLedgerService) {
         this.productRepository = productRepository;
+        this.fieldProjectionRepository = fieldProjectionRepository;
+        this.exchangeRateService = exchangeRateService;
+        this.stockShardService = stockShardService;
+        this.eventPublisher = eventPublisher;
+        this.entityLoader = entityLoader;
+        this.inventoryLedgerService = inventoryLedgerService;
     }
 
     @GetMapping
-    public List<Product> list() {
-        return productRepository.findAll();
+    public List<?> list(@RequestParam(required = false) String fields) {
+        Map<String, String> selected = FieldProjectionRepository.resolve(fields, FIELDS);
+        if (selected == null) {
+            return stockShardService.overlay(productRepository.findAllWithSupplier());
+        }
+        return project(selected, null);
+    }
+
+    @GetMapping("/quote")
+    public List<QuoteDtos.ProductQuote> quote(@RequestParam(required = false) Long clientId,
+                                              @RequestParam(required = false) String currency) {
+        String country = clientId == null ? null
+                : entityLoader.client(clientId).map(Client::getCountry).orElseThrow();
+        RateTable.Rate rate = exchangeRateService.rateFor(currency, country);
+        String code = rate.currency().getCurrencyCode();
+        List<Product> products = productRepository.findAll();
+        List<QuoteDtos.ProductQuote> quotes = new ArrayList<>(products.size());
+        for (Product product : products) {
+            quotes.add(new QuoteDtos.ProductQuote(product.getId(), product.getName(),
+                    rate.convert(product.getPrice()), code));
+        }
+        return quotes;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> get(@PathVariable Long id) {
-        return productRepository.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> get(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        Map<String, String> selected = FieldProjectionRepository.resolve(fields, FIELDS);
+        if (selected == null) {
+            return entityLoader.product(id)
+                    .map(stockShardService::overlay)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        List<Map<String, Object>> rows = project(selected, id);
+        return rows.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(rows.get(0));
+    }
+
+    private List<Map<String, Object>> project(Map<String, String> selected, Long id) {
+        boolean stockWithoutId = selected.containsKey("quantityInStock") && !selected.containsKey("id");
+        if (stockWithoutId) {
+            // Sharded stock is overlaid by id, so fetch it even when the caller did not ask for it.
+            selected = new LinkedHashMap<>(selected);
+            selected.put("id", "id");
+        }
+        List<Map<String, Object>> rows = id == null
+                ? fieldProjectionRepository.findAll(Product.class, selected)
+                : fieldProjectionRepository.findById(Product.class, selected, id).map(List::of).orElse(List.of());
+        if (selected.containsKey("quantityInStock")) {
+            rows = stockShardService.overlayRows(rows);
+        }
+        if (stockWithoutId) {
+            rows.forEach(row -> row.remove("id"));
+        }
+        return rows;
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
+    @Transactional
     public ResponseEntity<Product> create(@RequestBody @Valid Product product) {
         Product saved = productRepository.save(product);
+        inventoryLedgerService.recordSet(saved.getId(), saved.getQuantityInStock());
+        eventPublisher.publishEvent(new StockChangedEvent(saved.getId(), saved.getQuantityInStock()));
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId(), null, saved.getName()));
         return ResponseEntity.created(URI.create("/api/products/" + saved.getId())).body(saved);
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
+    @Transactional
     public ResponseEntity<Product> update(@PathVariable Long id, @RequestBody @Valid Product product) {
         return productRepository.findById(id)
                 .map(existing -> {
+                    String previousName = existing.getName();
                     product.setId(existing.getId());
-                    return ResponseEntity.ok(productRepository.save(product));
+                    Product saved = productRepository.save(product);
+                    stockShardService.setStock(saved.getId(), saved.getQuantityInStock());
+                    inventoryLedgerService.recordSet(saved.getId(), saved.getQuantityInStock());
+                    eventPublisher.publishEvent(new StockChangedEvent(saved.getId(), saved.getQuantityInStock()));
+                    eventPublisher.publishEvent(new ProductChangedEvent(saved.getId(), previousName, saved.getName()));
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @HasAnyRole(RoleType.ADMIN)
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (!productRepository.existsById(id)) return ResponseEntity.notFound().build();
+        Optional<Product> existing = productRepository.findById(id);
+        if (existing.isEmpty()) return ResponseEntity.notFound().build();
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, existing.get().getName(), null));
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/low-stock")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('STAFF')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER, RoleType.STAFF})
     public List<Product> lowStock(@RequestParam(name = "threshold", defaultValue = "10") Integer threshold) {
-        return productRepository.findByQuantityInStockLessThanEqual(threshold);
+        return stockShardService.overlay(productRepository.findByQuantityInStockLessThanEqual(threshold));
     }
 
     @PutMapping("/{id}/stock")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
+    @Transactional
     public ResponseEntity<Product> updateStock(@PathVariable Long id, @RequestParam("quantity") Integer quantity) {
         return productRepository.findById(id)
                 .map(existing -> {
                     existing.setQuantityInStock(quantity);
-                    return ResponseEntity.ok(productRepository.save(existing));
+                    Product saved = productRepository.save(existing);
+                    stockShardService.setStock(saved.getId(), quantity);
+                    inventoryLedgerService.recordSet(saved.getId(), quantity);
+                    eventPublisher.publishEvent(new StockChangedEvent(saved.getId(), quantity));
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    @PutMapping("/{id}/stock-shards")
+    @HasAnyRole(RoleType.ADMIN)
+    public ResponseEntity<Product> shardStock(@PathVariable Long id, @RequestParam("count") int count) {
+        if (!productRepository.existsById(id)) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(stockShardService.shard(id, count));
+    }
+
+    @DeleteMapping("/{id}/stock-shards")
+    @HasAnyRole(RoleType.ADMIN)
+    public ResponseEntity<Product> unshardStock(@PathVariable Long id) {
+        if (!productRepository.existsById(id)) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(stockShardService.unshard(id));
+    }
 }
 
 
@@ -0,0 +1,149 @@
+package com.steel.backend.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.steel.backend.repository.ReactiveCatalogRepository;
+import com.steel.backend.security.JwtService;
+import com.steel.backend.web.dto.CatalogDtos;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.*;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only catalog API on WebFlux/Reactor Netty, listening on its own port
+ * ({@code app.reactive-catalog.port}) next to the servlet stack. No thread is held per
+ * request: rows are pulled from R2DBC only as fast as each client's socket drains, so
+ * slow partner portals cost memory for their buffers rather than a Tomcat thread each.
+ * Accepts the same bearer tokens as the servlet API.
+ */
+@Component
+public class ReactiveCatalogServer {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCatalogServer.class);
+    private static final int MAX_PAGE = 100_000;
+
+    private final ReactiveCatalogRepository catalogRepository;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private DisposableServer server;
+
+    @Value("${app.reactive-catalog.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reactive-catalog.port:8081}")
+    private int port;
+
+    public ReactiveCatalogServer(ReactiveCatalogRepository catalogRepository,
+                                 JwtService jwtService,
+                                 ObjectMapper objectMapper) {
+        this.catalogRepository = catalogRepository;
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(
+                RouterFunctions.toHttpHandler(routes(), strategies));
+        server = HttpServer.create().port(port).handle(adapter).bindNow();
+        log.info("Reactive catalog listening on port {}", server.port());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/catalog/products", this::products)
+                .GET("/api/catalog/products/{id}", this::product)
+                .GET("/api/catalog/low-stock", this::lowStock)
+                .GET("/api/catalog/suppliers", this::suppliers)
+                .filter(this::authenticate)
+                .onError(IllegalArgumentException.class, (ex, request) ->
+                        ServerResponse.badRequest().bodyValue(Map.of("error", ex.getMessage())))
+                .build();
+    }
+
+    private Mono<ServerResponse> products(ServerRequest request) {
+        long afterId = request.queryParam("afterId").map(Long::parseLong).orElse(0L);
+        int limit = request.queryParam("limit").map(Integer::parseInt).orElse(1000);
+        if (limit < 1 || limit > MAX_PAGE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE);
+        }
+        return ServerResponse.ok().contentType(mediaType(request))
+                .body(catalogRepository.streamProducts(afterId, limit), CatalogDtos.ProductRow.class);
+    }
+
+    private Mono<ServerResponse> product(ServerRequest request) {
+        return catalogRepository.findProduct(Long.parseLong(request.pathVariable("id")))
+                .flatMap(product -> ServerResponse.ok().bodyValue(product))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private Mono<ServerResponse> lowStock(ServerRequest request) {
+        int threshold = request.queryParam("threshold").map(Integer::parseInt).orElse(10);
+        return ServerResponse.ok().contentType(mediaType(request))
+                .body(catalogRepository.streamLowStock(threshold), CatalogDtos.ProductRow.class);
+    }
+
+    private Mono<ServerResponse> suppliers(ServerRequest request) {
+        return ServerResponse.ok().contentType(mediaType(request))
+                .body(catalogRepository.streamSuppliers(), CatalogDtos.SupplierRow.class);
+    }
+
+    /**
+     * NDJSON when the client asks for it (one object per line, flushed as rows arrive),
+     * otherwise a JSON array, which the encoder also writes incrementally.
+     */
+    private static MediaType mediaType(ServerRequest request) {
+        List<MediaType> accept = request.headers().accept();
+        return accept.stream().anyMatch(MediaType.APPLICATION_NDJSON::isCompatibleWith)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+    }
+
+    private Mono<ServerResponse> authenticate(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        String token = header.substring(7);
+        try {
+            String username = jwtService.extractUsername(token);
+            if (username == null || !jwtService.isTokenValid(token, username)) {
+                return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        } catch (JwtException | IllegalArgumentException ex) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // Deferred so exceptions thrown by a handler reach the onError mapping.
+        return Mono.defer(() -> next.handle(request));
+    }
+}
@@ -0,0 +1,34 @@
+package com.steel.backend.web;
+
+import com.steel.backend.model.RoleType;
+import com.steel.backend.security.HasAnyRole;
+import com.steel.backend.service.ReplenishmentPlanner;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/replenishment")
+@HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
+public class ReplenishmentController {
+    private final ReplenishmentPlanner planner;
+
+    public ReplenishmentController(ReplenishmentPlanner planner) {
+        this.planner = planner;
+    }
+
+    @PostMapping("/runs")
+    public ResponseEntity<Void> trigger() {
+        if (!planner.trigger()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().location(URI.create("/api/replenishment/latest")).build();
+    }
+
+    @GetMapping("/latest")
+    public ResponseEntity<ReplenishmentPlanner.Plan> latest() {
+        return planner.latest().map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+}
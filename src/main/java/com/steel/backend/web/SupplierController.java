@@ -1,55 +1,96 @@
 package com.steel.backend.web;
 
+import com.steel.backend.model.RoleType;
 import com.steel.backend.model.Supplier;
 import com.steel.backend.repository.SupplierRepository;
+import com.steel.backend.security.HasAnyRole;
+import com.steel.backend.service.EntityLoader;
+import com.steel.backend.service.SupplierChangedEvent;
+import com.steel.backend.service.SupplierIndex;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/suppliers")
 public class SupplierController {
     private final SupplierRepository supplierRepository;
-
-    public SupplierController(SupplierRepository supplierRepository) {
+    private final SupplierIndex supplierIndex;
+    private final EntityLoader entityLoader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SupplierController(SupplierRepository supplierRepository,
+                              SupplierIndex supplierIndex,
+                              EntityLoader entityLoader,
+                              ApplicationEventPublisher eventPublisher) {
         this.supplierRepository = supplierRepository;
+        this.supplierIndex = supplierIndex;
+        this.entityLoader = entityLoader;
+        this.eventPublisher = eventPublisher;
     }
 
     @GetMapping
-    public List<Supplier> list() { return supplierRepository.findAll(); }
+    public List<Supplier> list() { return supplierRepository.findAllWithProducts(); }
+
+    @GetMapping("/by-product")
+    public List<Supplier> byProduct(@RequestParam(value = "name", required = false) String name,
+                                    @RequestParam(value = "category", required = false) String category) {
+        if (name == null && category == null) {
+            throw new IllegalArgumentException("name or category is required");
+        }
+        Set<Long> ids;
+        if (name == null) {
+            ids = supplierIndex.lookupCategory(category);
+        } else if (category == null) {
+            ids = supplierIndex.lookup(name);
+        } else {
+            ids = new HashSet<>(supplierIndex.lookup(name));
+            ids.retainAll(supplierIndex.lookupCategory(category));
+        }
+        if (ids.isEmpty()) return List.of();
+        return supplierRepository.findByIdIn(ids);
+    }
 
     @GetMapping("/{id}")
     public ResponseEntity<Supplier> get(@PathVariable Long id) {
-        return supplierRepository.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return entityLoader.supplier(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
     public ResponseEntity<Supplier> create(@RequestBody @Valid Supplier supplier) {
         Supplier saved = supplierRepository.save(supplier);
+        supplierIndex.index(saved);
         return ResponseEntity.created(URI.create("/api/suppliers/" + saved.getId())).body(saved);
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @HasAnyRole({RoleType.ADMIN, RoleType.MANAGER})
     public ResponseEntity<Supplier> update(@PathVariable Long id, @RequestBody @Valid Supplier supplier) {
         return supplierRepository.findById(id)
                 .map(existing -> {
                     supplier.setId(existing.getId());
-                    return ResponseEntity.ok(supplierRepository.save(supplier));
+                    Supplier saved = supplierRepository.save(supplier);
+                    supplierIndex.index(saved);
+                    eventPublisher.publishEvent(new SupplierChangedEvent(saved.getId(), saved.getName()));
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @HasAnyRole(RoleType.ADMIN)
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         if (!supplierRepository.existsById(id)) return ResponseEntity.notFound().build();
         supplierRepository.deleteById(id);
+        supplierIndex.remove(id);
+        eventPublisher.publishEvent(new SupplierChangedEvent(id, null));
         return ResponseEntity.noContent().build();
     }
 }
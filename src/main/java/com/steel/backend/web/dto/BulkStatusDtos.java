@@ -0,0 +1,16 @@
+package com.steel.backend.web.dto;
+
+import com.steel.backend.model.OrderStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkStatusDtos {
+    public record Filter(@NotNull OrderStatus status, Long clientId, Long afterId) {}
+    public record BulkStatusRequest(@Size(max = 10000) List<Long> ids, @Valid Filter filter, @NotNull OrderStatus status) {}
+    public record Outcome(Long id, String outcome, OrderStatus previousStatus) {}
+    public record BulkStatusResponse(OrderStatus status, int updated, int failed, List<Outcome> outcomes,
+                                     Long nextAfterId) {}
+}
@@ -0,0 +1,10 @@
+package com.steel.backend.web.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CatalogDtos {
+    public record ProductRow(Long id, String name, String category, String description, BigDecimal price,
+                             Integer quantityInStock, Long supplierId, String supplierName) {}
+    public record SupplierRow(Long id, String name, String contactInfo, List<String> suppliedProducts) {}
+}
@@ -0,0 +1,7 @@
+package com.steel.backend.web.dto;
+
+import java.util.List;
+
+public class PageDtos {
+    public record ResultPage<T>(List<T> items, int page, int size, long total) {}
+}
@@ -0,0 +1,10 @@
+package com.steel.backend.web.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class QuoteDtos {
+    public record ProductQuote(Long id, String name, BigDecimal price, String currency) {}
+    public record LineQuote(Long productId, int quantity, BigDecimal unitPrice, BigDecimal lineTotal) {}
+    public record OrderQuote(Long clientId, String currency, List<LineQuote> lines, BigDecimal total) {}
+}
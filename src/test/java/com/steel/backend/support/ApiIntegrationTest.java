@@ -0,0 +1,141 @@
+package com.steel.backend.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.steel.backend.model.Client;
+import com.steel.backend.model.Product;
+import com.steel.backend.model.Supplier;
+import com.steel.backend.repository.ClientRepository;
+import com.steel.backend.repository.ProductRepository;
+import com.steel.backend.repository.SupplierRepository;
+import com.steel.backend.security.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Base for API integration tests: boots the application on the embedded H2 database of
+ * the {@code test} profile (seeded by {@code DataSeeder}) with query budgets enforced,
+ * and signs requests in as the seeded admin. Rows a test creates are deleted after it, so
+ * tests sharing the cached context do not see each other's data. Tests are not wrapped
+ * in a rolled-back transaction because that would hide the after-commit work they count.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class ApiIntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected ProductRepository productRepository;
+
+    @Autowired
+    protected ClientRepository clientRepository;
+
+    @Autowired
+    protected SupplierRepository supplierRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String authorization;
+    private final Map<String, Long> existingIds = new HashMap<>();
+
+    @BeforeEach
+    void signIn() {
+        authorization = "Bearer " + jwtService.generateToken("admin", Map.of());
+    }
+
+    @BeforeEach
+    void recordExistingRows() {
+        for (String table : List.of("orders", "products", "clients", "suppliers")) {
+            existingIds.put(table, jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class));
+        }
+    }
+
+    @AfterEach
+    void deleteCreatedRows() {
+        long orders = existingIds.get("orders");
+        long products = existingIds.get("products");
+        long clients = existingIds.get("clients");
+        long suppliers = existingIds.get("suppliers");
+        jdbcTemplate.update("delete from order_items where order_id > ? or product_id > ?", orders, products);
+        jdbcTemplate.update("delete from orders where id > ? or client_id > ?", orders, clients);
+        for (String table : List.of("product_stock_shards", "catalog_entries", "product_demand_stats")) {
+            jdbcTemplate.update("delete from " + table + " where product_id > ?", products);
+        }
+        jdbcTemplate.update("delete from products where id > ?", products);
+        jdbcTemplate.update("delete from supplier_products where supplier_id > ?", suppliers);
+        jdbcTemplate.update("delete from suppliers where id > ?", suppliers);
+        jdbcTemplate.update("delete from clients where id > ?", clients);
+    }
+
+    protected ResultActions get(String url, Object... variables) throws Exception {
+        return perform(MockMvcRequestBuilders.get(url, variables));
+    }
+
+    protected ResultActions post(String url, Object body, Object... variables) throws Exception {
+        return perform(MockMvcRequestBuilders.post(url, variables)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(body)));
+    }
+
+    protected JsonNode json(ResultActions actions) throws Exception {
+        return objectMapper.readTree(actions.andReturn().getResponse().getContentAsByteArray());
+    }
+
+    protected Supplier supplier() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        return supplierRepository.save(Supplier.builder()
+                .name("Supplier " + tag)
+                .contactInfo(tag + "@example.com")
+                .suppliedProducts(Set.of("Trays " + tag, "Ladles " + tag))
+                .build());
+    }
+
+    protected Product product(Supplier supplier) {
+        return productRepository.save(Product.builder()
+                .name("Product " + UUID.randomUUID().toString().substring(0, 8))
+                .category("Trays")
+                .price(new BigDecimal("4.20"))
+                .quantityInStock(1000)
+                .supplier(supplier)
+                .build());
+    }
+
+    protected Client client() {
+        return clientRepository.save(Client.builder()
+                .name("Client " + UUID.randomUUID().toString().substring(0, 8))
+                .country("DE")
+                .businessType("Retail")
+                .build());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header("Authorization", authorization));
+    }
+}
@@ -0,0 +1,47 @@
+package com.steel.backend.support;
+
+import com.steel.backend.config.QueryBudgetInterceptor;
+import com.steel.backend.config.StatementCounter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * MockMvc matchers for the SQL statements a request ran, as counted by
+ * {@link StatementCounter} between the {@link QueryBudgetInterceptor}'s pre- and
+ * post-handling. Statements issued by filters (authentication) are not included.
+ */
+public final class StatementCounts {
+
+    private StatementCounts() {
+    }
+
+    /**
+     * Expects exactly {@code expected} statements, and no more than the budget configured
+     * for the route in {@code app.query-budget.routes}; a route without a budget fails too,
+     * so every asserted path is also guarded at runtime.
+     */
+    public static ResultMatcher statements(int expected) {
+        return result -> {
+            StatementCounter.Scope scope = scope(result);
+            assertThat(scope.count())
+                    .as("SQL statements run by %s: %s", scope.route(), scope.statements())
+                    .isEqualTo(expected);
+            assertThat(scope.budget())
+                    .as("query budget configured for %s", scope.route())
+                    .isPositive()
+                    .isGreaterThanOrEqualTo(scope.count());
+        };
+    }
+
+    public static StatementCounter.Scope scope(MvcResult result) {
+        Object scope = result.getRequest().getAttribute(QueryBudgetInterceptor.SCOPE_ATTRIBUTE);
+        if (scope == null) {
+            fail("No statement count recorded for " + result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " (status " + result.getResponse().getStatus() + ")");
+        }
+        return (StatementCounter.Scope) scope;
+    }
+}
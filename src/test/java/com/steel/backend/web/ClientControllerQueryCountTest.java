@@ -0,0 +1,39 @@
+package com.steel.backend.web;
+
+import com.steel.backend.model.Client;
+import com.steel.backend.support.ApiIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.steel.backend.support.StatementCounts.statements;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ClientControllerQueryCountTest extends ApiIntegrationTest {
+    private Client client;
+
+    @BeforeEach
+    void createClients() {
+        for (int i = 0; i < 3; i++) {
+            client = client();
+        }
+    }
+
+    @Test
+    void list() throws Exception {
+        get("/api/clients").andExpect(status().isOk()).andExpect(statements(1));
+    }
+
+    @Test
+    void detail() throws Exception {
+        get("/api/clients/{id}", client.getId()).andExpect(status().isOk()).andExpect(statements(1));
+    }
+
+    @Test
+    void create() throws Exception {
+        post("/api/clients", Map.of("name", "Kitchenware GmbH", "country", "DE", "businessType", "Wholesale"))
+                .andExpect(status().isCreated())
+                .andExpect(statements(1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.steel.backend.web;
+
+import com.steel.backend.model.Client;
+import com.steel.backend.model.Product;
+import com.steel.backend.support.ApiIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.steel.backend.support.StatementCounts.statements;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderControllerQueryCountTest extends ApiIntegrationTest {
+    private final List<Product> products = new ArrayList<>();
+    private Client client;
+    private long orderId;
+
+    @BeforeEach
+    void createOrders() throws Exception {
+        products.clear();
+        for (int i = 0; i < 3; i++) {
+            products.add(product(supplier()));
+        }
+        for (int i = 0; i < 3; i++) {
+            client = client();
+            orderId = json(post("/api/orders?clientId={clientId}", items(2), client.getId())
+                    .andExpect(status().isCreated())).get("id").asLong();
+        }
+    }
+
+    @Test
+    void listFetchesClientsItemsAndProductsWithoutPerRowQueries() throws Exception {
+        get("/api/orders").andExpect(status().isOk()).andExpect(statements(3));
+    }
+
+    @Test
+    void detail() throws Exception {
+        get("/api/orders/{id}", orderId).andExpect(status().isOk()).andExpect(statements(3));
+    }
+
+    @Test
+    void createWithOneLine() throws Exception {
+        post("/api/orders?clientId={clientId}", items(1), client.getId())
+                .andExpect(status().isCreated())
+                .andExpect(statements(7));
+    }
+
+    @Test
+    void createAddsAFixedNumberOfStatementsPerLine() throws Exception {
+        post("/api/orders?clientId={clientId}", items(3), client.getId())
+                .andExpect(status().isCreated())
+                .andExpect(statements(13));
+    }
+
+    private List<Map<String, Object>> items(int count) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(Map.of("productId", products.get(i).getId(), "quantity", 1));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,40 @@
+package com.steel.backend.web;
+
+import com.steel.backend.model.Product;
+import com.steel.backend.support.ApiIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.steel.backend.support.StatementCounts.statements;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductControllerQueryCountTest extends ApiIntegrationTest {
+    private Product product;
+
+    @BeforeEach
+    void createProducts() {
+        for (int i = 0; i < 3; i++) {
+            product = product(supplier());
+        }
+    }
+
+    @Test
+    void listFetchesSuppliersWithoutPerRowQueries() throws Exception {
+        get("/api/products").andExpect(status().isOk()).andExpect(statements(2));
+    }
+
+    @Test
+    void detailLoadsProductAndSupplierTogether() throws Exception {
+        get("/api/products/{id}", product.getId()).andExpect(status().isOk()).andExpect(statements(1));
+    }
+
+    @Test
+    void create() throws Exception {
+        post("/api/products", Map.of("name", "Serving Tray", "category", "Trays", "price", 12.5,
+                "quantityInStock", 40))
+                .andExpect(status().isCreated())
+                .andExpect(statements(6));
+    }
+}
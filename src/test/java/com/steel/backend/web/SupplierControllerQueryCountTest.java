@@ -0,0 +1,41 @@
+package com.steel.backend.web;
+
+import com.steel.backend.model.Supplier;
+import com.steel.backend.support.ApiIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.steel.backend.support.StatementCounts.statements;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SupplierControllerQueryCountTest extends ApiIntegrationTest {
+    private Supplier supplier;
+
+    @BeforeEach
+    void createSuppliers() {
+        for (int i = 0; i < 3; i++) {
+            supplier = supplier();
+        }
+    }
+
+    @Test
+    void listFetchesSuppliedProductsWithoutPerRowQueries() throws Exception {
+        get("/api/suppliers").andExpect(status().isOk()).andExpect(statements(1));
+    }
+
+    @Test
+    void detail() throws Exception {
+        get("/api/suppliers/{id}", supplier.getId()).andExpect(status().isOk()).andExpect(statements(1));
+    }
+
+    @Test
+    void create() throws Exception {
+        post("/api/suppliers", Map.of("name", "Cutlery Works", "contactInfo", "sales@cutlery.example",
+                "suppliedProducts", List.of("Spoons", "Whisks")))
+                .andExpect(status().isCreated())
+                .andExpect(statements(4));
+    }
+}